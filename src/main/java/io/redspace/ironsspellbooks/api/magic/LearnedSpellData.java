@@ -48,7 +48,7 @@ public class LearnedSpellData implements ISerializable {
     public void writeToBuffer(FriendlyByteBuf buf) {
         buf.writeInt(learnedSpells.size());
         for (ResourceLocation resourceLocation : learnedSpells) {
-            buf.writeUtf(resourceLocation.toString());
+            SpellRegistry.writeSpellId(buf, resourceLocation.toString());
         }
     }
 
@@ -57,7 +57,7 @@ public class LearnedSpellData implements ISerializable {
         int i = buf.readInt();
         if (i > 0) {
             for (int j = 0; j < i; j++) {
-                ResourceLocation resourceLocation = ResourceLocation.parse(buf.readUtf());
+                ResourceLocation resourceLocation = ResourceLocation.parse(SpellRegistry.readSpellId(buf));
                 if (SpellRegistry.REGISTRY.get().getValue(resourceLocation) != null) {
                     learnedSpells.add(resourceLocation);
                 }
@@ -5,10 +5,13 @@ import io.redspace.ironsspellbooks.api.events.ChangeManaEvent;
 import io.redspace.ironsspellbooks.api.registry.AttributeRegistry;
 import io.redspace.ironsspellbooks.api.registry.SpellRegistry;
 import io.redspace.ironsspellbooks.api.spells.*;
+import io.redspace.ironsspellbooks.capabilities.magic.MagicManager;
 import io.redspace.ironsspellbooks.capabilities.magic.PlayerCooldowns;
 import io.redspace.ironsspellbooks.capabilities.magic.PlayerMagicProvider;
 import io.redspace.ironsspellbooks.capabilities.magic.PlayerRecasts;
 import io.redspace.ironsspellbooks.capabilities.magic.SyncedSpellData;
+import io.redspace.ironsspellbooks.network.ClientboundSyncMana;
+import io.redspace.ironsspellbooks.setup.Messages;
 import net.minecraft.client.Minecraft;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
@@ -35,12 +38,16 @@ public class MagicData {
     public MagicData(ServerPlayer serverPlayer) {
         this(false);
         this.serverPlayer = serverPlayer;
+        this.playerCooldowns = new PlayerCooldowns(serverPlayer);
         this.playerRecasts = new PlayerRecasts(serverPlayer);
     }
 
     public void setServerPlayer(ServerPlayer serverPlayer) {
         if (this.serverPlayer == null && serverPlayer != null) {
             this.serverPlayer = serverPlayer;
+            var cooldowns = new PlayerCooldowns(serverPlayer);
+            cooldowns.copyFrom(this.playerCooldowns);
+            this.playerCooldowns = cooldowns;
             this.playerRecasts = new PlayerRecasts(serverPlayer);
         }
     }
@@ -76,6 +83,76 @@ public class MagicData {
         setMana(this.mana + mana);
     }
 
+    /**
+     * What the client was last told: it displays syncedMana + syncedManaRegen per tick since syncedManaTick, capped at max mana
+     */
+    private int syncedMana = -1;
+    private float syncedManaRegen;
+    private int syncedManaTick;
+    private boolean manaDirty;
+
+    /**
+     * Server side only. Forces the next {@link #syncManaIfChanged} to send an exact value instead of tolerating regen drift.
+     * Calling this several times in one tick still results in a single packet.
+     */
+    public void markManaDirty() {
+        this.manaDirty = true;
+    }
+
+    /**
+     * Server side only. Sends the mana to the client if it has drifted from what the client is predicting from the last sync.
+     * Regeneration is interpolated client side, so a player regenerating at a steady rate or sitting at full mana generates no traffic.
+     */
+    public void syncManaIfChanged(int tickCount) {
+        if (serverPlayer == null) {
+            return;
+        }
+        boolean forced = manaDirty;
+        manaDirty = false;
+
+        int maxMana = (int) serverPlayer.getAttributeValue(AttributeRegistry.MAX_MANA.get());
+        int currentMana = (int) mana;
+        float regen = currentMana < maxMana ? MagicManager.getManaRegenIncrement(serverPlayer) / MagicManager.MANA_REGEN_TICKS : 0;
+
+        if (syncedMana >= 0) {
+            float predicted = Math.min(maxMana, syncedMana + syncedManaRegen * (tickCount - syncedManaTick));
+            if (currentMana >= maxMana && predicted >= maxMana) {
+                //Both sides are capped, nothing the client could display differently
+                return;
+            }
+            //Server regen happens in steps every MANA_REGEN_TICKS, so the client's linear prediction may lead by up to one step
+            float tolerance = forced ? 0.5f : syncedManaRegen * MagicManager.MANA_REGEN_TICKS + 0.5f;
+            if (Math.abs(currentMana - predicted) <= tolerance && Math.abs(regen - syncedManaRegen) < 1e-4f) {
+                return;
+            }
+        }
+
+        syncedMana = currentMana;
+        syncedManaRegen = regen;
+        syncedManaTick = tickCount;
+        Messages.sendToPlayer(new ClientboundSyncMana(currentMana, regen), serverPlayer);
+    }
+
+    /********* SPELL SELECTION *******************************************************/
+
+    private SpellSelectionManager spellSelectionManager;
+
+    /**
+     * Server side only. Returns the player's spell selection manager, only rebuilding it when it is no longer up to date
+     */
+    public SpellSelectionManager getSpellSelectionManager() {
+        if (spellSelectionManager == null || !spellSelectionManager.isUpToDate(serverPlayer)) {
+            spellSelectionManager = new SpellSelectionManager(serverPlayer);
+        }
+        return spellSelectionManager;
+    }
+
+    public void invalidateSpellSelectionManager() {
+        if (spellSelectionManager != null) {
+            spellSelectionManager.invalidate();
+        }
+    }
+
     /********* SYNC DATA *******************************************************/
 
     private SyncedSpellData syncedSpellData;
@@ -94,6 +171,7 @@ public class MagicData {
 
     /********* CASTING *******************************************************/
 
+    private @Nullable AbstractSpell castingSpell;
     private int castingSpellLevel = 0;
     private int castDuration = 0;
     private int castDurationRemaining = 0;
@@ -107,6 +185,7 @@ public class MagicData {
 
     public void resetCastingState() {
         //Ironsspellbooks.logger.debug("PlayerMagicData.resetCastingState: serverPlayer:{}", serverPlayer);
+        this.castingSpell = null;
         this.castingSpellLevel = 0;
         this.castDuration = 0;
         this.castDurationRemaining = 0;
@@ -123,12 +202,16 @@ public class MagicData {
     }
 
     public void initiateCast(AbstractSpell spell, int spellLevel, int castDuration, CastSource castSource, String castingEquipmentSlot) {
+        this.castingSpell = spell;
         this.castingSpellLevel = spellLevel;
         this.castDuration = castDuration;
         this.castDurationRemaining = castDuration;
         this.castSource = castSource;
         this.castType = spell.getCastType();
         this.syncedSpellData.setIsCasting(true, spell.getSpellId(), spellLevel, castingEquipmentSlot);
+        if (serverPlayer != null) {
+            MagicManager.trackActivePlayer(serverPlayer);
+        }
     }
 
     public ICastData getAdditionalCastData() {
@@ -159,7 +242,17 @@ public class MagicData {
     }
 
     public SpellData getCastingSpell() {
-        return new SpellData(SpellRegistry.getSpell(getSyncedData().getCastingSpellId()), castingSpellLevel);
+        return new SpellData(getCastingAbstractSpell(), castingSpellLevel);
+    }
+
+    /**
+     * @return the spell being cast, resolved once when the cast started. Falls back to the synced id on the client
+     */
+    public AbstractSpell getCastingAbstractSpell() {
+        if (castingSpell == null || !castingSpell.getSpellId().equals(getSyncedData().getCastingSpellId())) {
+            return SpellRegistry.getSpell(getSyncedData().getCastingSpellId());
+        }
+        return castingSpell;
     }
 
     public int getCastingSpellLevel() {
@@ -228,7 +321,7 @@ public class MagicData {
 
     /********* COOLDOWNS *******************************************************/
 
-    private final PlayerCooldowns playerCooldowns = new PlayerCooldowns();
+    private PlayerCooldowns playerCooldowns = new PlayerCooldowns();
 
     public PlayerCooldowns getPlayerCooldowns() {
         return this.playerCooldowns;
@@ -267,7 +360,79 @@ public class MagicData {
             }
             return new MagicData(serverPlayer);
         } else {
-            return new MagicData(true);
+            return NON_MAGIC_ENTITY;
+        }
+    }
+
+    /**
+     * Like {@link #getPlayerMagicData}, but entities without magic data of their own get a fresh, writable instance.
+     * Use this when the data has to carry state across a single operation, ie passing cast data from checkPreCastConditions to onCast.
+     */
+    public static MagicData getWritableMagicData(LivingEntity livingEntity) {
+        var magicData = getPlayerMagicData(livingEntity);
+        return magicData == NON_MAGIC_ENTITY ? new MagicData(true) : magicData;
+    }
+
+    /**
+     * Shared by every entity that is neither a player nor an {@link IMagicEntity}. Writes to it are discarded, exactly as they were
+     * when each lookup allocated a throwaway instance, so damage and effect handlers can query ordinary mobs without allocating.
+     */
+    private static final MagicData NON_MAGIC_ENTITY = new ReadOnly();
+
+    private static final class ReadOnly extends MagicData {
+        private ReadOnly() {
+            super(true);
+            super.setSyncedData(SyncedSpellData.readOnly());
+        }
+
+        @Override
+        public void setServerPlayer(ServerPlayer serverPlayer) {
+        }
+
+        @Override
+        public void setMana(float mana) {
+        }
+
+        @Override
+        public void setSyncedData(SyncedSpellData syncedSpellData) {
+        }
+
+        @Override
+        public void resetCastingState() {
+        }
+
+        @Override
+        public void initiateCast(AbstractSpell spell, int spellLevel, int castDuration, CastSource castSource, String castingEquipmentSlot) {
+        }
+
+        @Override
+        public void setAdditionalCastData(ICastData newCastData) {
+        }
+
+        @Override
+        public void resetAdditionalCastData() {
+        }
+
+        @Override
+        public void handleCastDuration() {
+        }
+
+        @Override
+        public void setPlayerCastingItem(ItemStack itemStack) {
+        }
+
+        @Override
+        public PlayerCooldowns getPlayerCooldowns() {
+            return new PlayerCooldowns();
+        }
+
+        @Override
+        public PlayerRecasts getPlayerRecasts() {
+            return new PlayerRecasts();
+        }
+
+        @Override
+        public void loadNBTData(CompoundTag compound) {
         }
     }
 
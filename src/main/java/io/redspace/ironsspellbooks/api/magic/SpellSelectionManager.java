@@ -29,6 +29,7 @@ import java.util.List;
 public class SpellSelectionManager {
     public static final String MAINHAND = EquipmentSlot.MAINHAND.getName();
     public static final String OFFHAND = EquipmentSlot.OFFHAND.getName();
+    private static final EquipmentSlot[] EQUIPMENT_SLOTS = {EquipmentSlot.HEAD, EquipmentSlot.CHEST, EquipmentSlot.LEGS, EquipmentSlot.FEET, EquipmentSlot.MAINHAND, EquipmentSlot.OFFHAND};
     /**
      * List of selectable spells -- the spell wheel
      */
@@ -43,6 +44,12 @@ public class SpellSelectionManager {
     private int selectionIndex = -1;
     private boolean selectionValid = false;
     private final Player player;
+    /**
+     * Equipment and selection this manager was built from, used by {@link #isUpToDate(Player)}
+     */
+    private final ItemStack[] equipmentSnapshot = new ItemStack[EQUIPMENT_SLOTS.length];
+    private SpellSelection selectionSnapshot;
+    private boolean invalidated = false;
 
     public SpellSelectionManager(@NotNull Player player) {
         this.selectionOptionList = new ArrayList<>();
@@ -53,10 +60,10 @@ public class SpellSelectionManager {
     private void init(Player player) {
         if (player == null) return;
 
-        if (player.level.isClientSide) {
-            spellSelection = ClientMagicData.getSyncedSpellData(player).getSpellSelection();
-        } else {
-            spellSelection = MagicData.getPlayerMagicData(player).getSyncedData().getSpellSelection();
+        spellSelection = getSyncedSelection(player);
+        selectionSnapshot = spellSelection;
+        for (int i = 0; i < EQUIPMENT_SLOTS.length; i++) {
+            equipmentSnapshot[i] = player.getItemBySlot(EQUIPMENT_SLOTS[i]);
         }
 
         if (Log.SPELL_SELECTION) {
@@ -65,12 +72,9 @@ public class SpellSelectionManager {
 
         //TODO: support dynamic slot detection for curios
         initItem(Utils.getPlayerSpellbookStack(player), Curios.SPELLBOOK_SLOT);
-        initItem(player.getItemBySlot(EquipmentSlot.HEAD), EquipmentSlot.HEAD.getName());
-        initItem(player.getItemBySlot(EquipmentSlot.CHEST), EquipmentSlot.CHEST.getName());
-        initItem(player.getItemBySlot(EquipmentSlot.LEGS), EquipmentSlot.LEGS.getName());
-        initItem(player.getItemBySlot(EquipmentSlot.FEET), EquipmentSlot.FEET.getName());
-        initItem(player.getItemBySlot(EquipmentSlot.MAINHAND), MAINHAND);
-        initItem(player.getItemBySlot(EquipmentSlot.OFFHAND), OFFHAND);
+        for (int i = 0; i < EQUIPMENT_SLOTS.length; i++) {
+            initItem(equipmentSnapshot[i], EQUIPMENT_SLOTS[i].getName());
+        }
         MinecraftForge.EVENT_BUS.post(new SpellSelectionEvent(this.player, this));
 
         if (!selectionValid && !selectionOptionList.isEmpty()) {
@@ -82,6 +86,37 @@ public class SpellSelectionManager {
         }
     }
 
+    private static SpellSelection getSyncedSelection(Player player) {
+        if (player.level.isClientSide) {
+            return ClientMagicData.getSyncedSpellData(player).getSpellSelection();
+        } else {
+            return MagicData.getPlayerMagicData(player).getSyncedData().getSpellSelection();
+        }
+    }
+
+    /**
+     * Marks this manager as stale, ie when the spellbook curio or the contents of an equipped container changed
+     */
+    public void invalidate() {
+        this.invalidated = true;
+    }
+
+    /**
+     * @return false if this manager must be rebuilt for the given player: it was invalidated, belongs to another player entity,
+     * an equipment slot holds a different stack, or the synced spell selection was replaced. Cheap enough to call every cast.
+     */
+    public boolean isUpToDate(Player player) {
+        if (invalidated || this.player != player || selectionSnapshot != getSyncedSelection(player)) {
+            return false;
+        }
+        for (int i = 0; i < EQUIPMENT_SLOTS.length; i++) {
+            if (equipmentSnapshot[i] != player.getItemBySlot(EQUIPMENT_SLOTS[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private void initItem(@Nullable ItemStack itemStack, String equipmentSlot) {
         if (ISpellContainer.isSpellContainer(itemStack)) {
             var spellContainer = ISpellContainer.get(itemStack);
@@ -8,8 +8,8 @@ import io.redspace.ironsspellbooks.api.spells.CastOptions;
 import io.redspace.ironsspellbooks.api.spells.CastResult;
 import io.redspace.ironsspellbooks.api.spells.CastSource;
 import io.redspace.ironsspellbooks.api.spells.parameters.IParameterizedSpell;
+import io.redspace.ironsspellbooks.api.spells.parameters.SpellCastContext;
 import io.redspace.ironsspellbooks.api.spells.parameters.SpellParameterConfig;
-import io.redspace.ironsspellbooks.api.spells.parameters.SpellParameterLoader;
 import io.redspace.ironsspellbooks.api.spells.parameters.SpellParameterSchema;
 import io.redspace.ironsspellbooks.api.spells.parameters.SpellParameters;
 import io.redspace.ironsspellbooks.capabilities.magic.MagicManager;
@@ -20,7 +20,6 @@ import io.redspace.ironsspellbooks.setup.Messages;
 import io.redspace.ironsspellbooks.network.ClientboundUpdateCastingState;
 import io.redspace.ironsspellbooks.network.spell.ClientboundOnClientCast;
 import io.redspace.ironsspellbooks.spells.parameters.JsonCastData;
-import io.redspace.ironsspellbooks.network.ClientboundSyncMana;
 import net.minecraft.ChatFormatting;
 import net.minecraft.network.chat.Component;
 import net.minecraft.server.level.ServerPlayer;
@@ -75,12 +74,25 @@ public final class SpellCastManager {
             return false;
         }
 
-        SpellParameters normalized = validation.normalized();
-        SpellParameterConfig baseline = spell.snapshotParameters();
-        SpellParameterConfig resolved = SpellParameterLoader.resolve(spell.getSpellId(), normalized, baseline);
+        return castSpell(player, SpellCastContext.of(spell, validation.normalized()), level);
+    }
+
+    /**
+     * 使用已校验的上下文施法，适用于同一组参数批量施放给多个目标的场景。
+     * 上下文中的技能必须实现 {@link IParameterizedSpell}，参数必须已经过 schema 校验。
+     */
+    public static boolean castSpell(ServerPlayer player, SpellCastContext context, int level) {
+        if (!(context.spell() instanceof IParameterizedSpell parameterizedSpell)) {
+            return false;
+        }
+        return context.call(() -> executeParameterizedCast(player, context.spell(), parameterizedSpell, level, context));
+    }
+
+    private static boolean executeParameterizedCast(ServerPlayer player, AbstractSpell spell, IParameterizedSpell parameterizedSpell, int level, SpellCastContext context) {
+        SpellParameters normalized = context.parameters();
+        SpellParameterConfig resolved = context.config();
         CastOptions options = CastOptions.fromParameters(normalized, CastSource.COMMAND);
         MagicData magicData = MagicData.getPlayerMagicData(player);
-        SpellParameterConfig previousParameters = spell.applyParameterOverrides(resolved);
         boolean castBarInitiated = false;
         boolean castSucceeded = false;
         JsonCastData jsonCastData = new JsonCastData(normalized);
@@ -121,7 +133,7 @@ public final class SpellCastManager {
             if (options.consumeMana) {
                 if (resolvedManaCost > 0) {
                     magicData.setMana(Math.max(0, magicData.getMana() - resolvedManaCost));
-                    Messages.sendToPlayer(new ClientboundSyncMana(magicData), player);
+                    magicData.markManaDirty();
                 }
             }
 
@@ -150,7 +162,6 @@ public final class SpellCastManager {
                 magicData.resetCastingState();
                 Messages.sendToPlayersTrackingEntity(new ClientboundOnCastFinished(player.getUUID(), spell.getSpellId(), true), player, true);
             }
-            spell.restoreParameters(previousParameters);
         }
     }
 
@@ -165,19 +176,24 @@ public final class SpellCastManager {
             return false;
         }
 
-        SpellParameters normalized = validation.normalized();
-        MagicData magicData = MagicData.getPlayerMagicData(caster);
-        SpellParameterConfig baseline = spell.snapshotParameters();
-        SpellParameterConfig resolved = SpellParameterLoader.resolve(spell.getSpellId(), normalized, baseline);
-        SpellParameterConfig previous = spell.applyParameterOverrides(resolved);
+        return castSpellDirect(caster, SpellCastContext.of(spell, validation.normalized()), level);
+    }
+
+    /**
+     * 使用已校验的上下文直接施法，不做条件检查，施法者可以是任意生物。
+     */
+    public static boolean castSpellDirect(LivingEntity caster, SpellCastContext context, int level) {
+        if (!(context.spell() instanceof IParameterizedSpell parameterizedSpell)) {
+            return false;
+        }
+        SpellParameters normalized = context.parameters();
+        MagicData magicData = MagicData.getWritableMagicData(caster);
         try {
-            parameterizedSpell.onCastWithParameters(caster.level(), level, caster, CastSource.COMMAND, magicData, normalized);
+            context.run(() -> parameterizedSpell.onCastWithParameters(caster.level(), level, caster, CastSource.COMMAND, magicData, normalized));
             return true;
         } catch (Exception e) {
             IronsSpellbooks.LOGGER.error("直接施法失败", e);
             return false;
-        } finally {
-            spell.restoreParameters(previous);
         }
     }
 
@@ -14,10 +14,13 @@ import io.redspace.ironsspellbooks.spells.lightning.*;
 import io.redspace.ironsspellbooks.spells.nature.*;
 import io.redspace.ironsspellbooks.spells.eldritch.*;
 import net.minecraft.core.Registry;
+import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraftforge.eventbus.api.IEventBus;
 import net.minecraftforge.registries.DeferredRegister;
+import net.minecraftforge.registries.ForgeRegistry;
+import net.minecraftforge.registries.IdMappingEvent;
 import net.minecraftforge.registries.IForgeRegistry;
 import net.minecraftforge.registries.RegistryBuilder;
 import net.minecraftforge.registries.RegistryObject;
@@ -25,6 +28,8 @@ import net.minecraftforge.registries.RegistryObject;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -34,6 +39,7 @@ public class SpellRegistry {
     public static final Supplier<IForgeRegistry<AbstractSpell>> REGISTRY = SPELLS.makeRegistry(() -> new RegistryBuilder<AbstractSpell>().disableSaving().disableOverrides());
     private static final NoneSpell noneSpell = new NoneSpell();
     private static final Map<SchoolType, List<AbstractSpell>> SCHOOLS_TO_SPELLS = new HashMap<>();
+    private static final Map<String, Integer> NETWORK_IDS = new ConcurrentHashMap<>();
     public static void register(IEventBus eventBus) {
         SPELLS.register(eventBus);
     }
@@ -77,6 +83,65 @@ public class SpellRegistry {
         SCHOOLS_TO_SPELLS.clear();
     }
 
+    /**
+     * Dense indices handed out per spell id on first use. Unlike registry ids they never change during a session, so they can key per player arrays
+     */
+    private static final Map<String, Integer> SPELL_INDICES = new ConcurrentHashMap<>();
+    private static final List<String> INDEXED_SPELL_IDS = new CopyOnWriteArrayList<>();
+
+    public static int getSpellIndex(String spellId) {
+        Integer index = SPELL_INDICES.get(spellId);
+        return index != null ? index : assignSpellIndex(spellId);
+    }
+
+    private static synchronized int assignSpellIndex(String spellId) {
+        return SPELL_INDICES.computeIfAbsent(spellId, id -> {
+            INDEXED_SPELL_IDS.add(id);
+            return INDEXED_SPELL_IDS.size() - 1;
+        });
+    }
+
+    public static String getSpellIdAtIndex(int index) {
+        return INDEXED_SPELL_IDS.get(index);
+    }
+
+    /**
+     * Writes a spell id using the registry's numeric id, which forge syncs to clients during the login handshake.
+     * Ids that are not registered (such as the none spell or an empty casting id) fall back to a 0 marker followed by the string.
+     */
+    public static void writeSpellId(FriendlyByteBuf buf, String spellId) {
+        int networkId = NETWORK_IDS.computeIfAbsent(spellId, SpellRegistry::lookupNetworkId);
+        buf.writeVarInt(networkId);
+        if (networkId == 0) {
+            buf.writeUtf(spellId);
+        }
+    }
+
+    public static String readSpellId(FriendlyByteBuf buf) {
+        int networkId = buf.readVarInt();
+        if (networkId == 0) {
+            return buf.readUtf();
+        }
+        var spell = ((ForgeRegistry<AbstractSpell>) REGISTRY.get()).getValue(networkId - 1);
+        return spell == null ? noneSpell.getSpellId() : spell.getSpellId();
+    }
+
+    private static int lookupNetworkId(String spellId) {
+        var resourceLocation = ResourceLocation.tryParse(spellId);
+        if (resourceLocation == null) {
+            return 0;
+        }
+        int id = ((ForgeRegistry<AbstractSpell>) REGISTRY.get()).getID(resourceLocation);
+        return id < 0 ? 0 : id + 1;
+    }
+
+    /**
+     * Numeric ids are replaced by the server's when a client connects, so the cached lookups must be dropped
+     */
+    public static void onIdMapping(IdMappingEvent event) {
+        NETWORK_IDS.clear();
+    }
+
     //TODO: should the none spell be registered?
 
     // BLOOD
@@ -6,19 +6,21 @@ import io.redspace.ironsspellbooks.api.config.DefaultConfig;
 import io.redspace.ironsspellbooks.api.events.ModifySpellLevelEvent;
 import io.redspace.ironsspellbooks.api.events.SpellOnCastEvent;
 import io.redspace.ironsspellbooks.api.events.SpellPreCastEvent;
-import io.redspace.ironsspellbooks.api.item.curios.AffinityData;
 import io.redspace.ironsspellbooks.api.magic.MagicData;
 import io.redspace.ironsspellbooks.api.magic.MagicHelper;
 import io.redspace.ironsspellbooks.api.registry.AttributeRegistry;
 import io.redspace.ironsspellbooks.api.registry.SpellRegistry;
+import io.redspace.ironsspellbooks.api.spells.parameters.SpellCastContext;
 import io.redspace.ironsspellbooks.api.spells.parameters.SpellParameterConfig;
+import io.redspace.ironsspellbooks.api.spells.parameters.SpellParameterLoader;
+import io.redspace.ironsspellbooks.api.spells.parameters.SpellParameters;
 import io.redspace.ironsspellbooks.api.util.AnimationHolder;
 import io.redspace.ironsspellbooks.api.util.Utils;
 import io.redspace.ironsspellbooks.capabilities.magic.RecastInstance;
 import io.redspace.ironsspellbooks.capabilities.magic.RecastResult;
 import io.redspace.ironsspellbooks.config.ServerConfigs;
 import io.redspace.ironsspellbooks.damage.SpellDamageSource;
-import io.redspace.ironsspellbooks.network.ClientboundSyncMana;
+import io.redspace.ironsspellbooks.item.curios.EquippedCurios;
 import io.redspace.ironsspellbooks.network.ClientboundUpdateCastingState;
 import io.redspace.ironsspellbooks.network.spell.ClientboundOnCastFinished;
 import io.redspace.ironsspellbooks.network.spell.ClientboundOnCastStarted;
@@ -45,7 +47,6 @@ import net.minecraft.world.level.GameType;
 import net.minecraft.world.level.Level;
 import net.minecraftforge.common.MinecraftForge;
 import org.joml.Vector3f;
-import top.theillusivec4.curios.api.CuriosApi;
 
 import javax.annotation.Nullable;
 import java.util.ArrayList;
@@ -68,6 +69,12 @@ public abstract class AbstractSpell {
     protected int castTime;
     //protected int cooldown;
 
+    //The spell's values resolved against the current spell_parameters.json snapshot, re-resolved after each datapack reload
+    private volatile LoadedParameters loadedParameters;
+
+    private record LoadedParameters(int version, SpellParameterConfig config) {
+    }
+
     public AbstractSpell() {
     }
 
@@ -135,7 +142,7 @@ public abstract class AbstractSpell {
     public final int getLevelFor(int level, @Nullable LivingEntity caster) {
         int addition = 0;
         if (caster != null) {
-            addition = CuriosApi.getCuriosHelper().findCurios(caster, (itemStack) -> AffinityData.hasAffinityData(itemStack) && AffinityData.getAffinityData(itemStack).getSpell().equals(this)).size();
+            addition = EquippedCurios.of(caster).getAffinityBonus(this);
         }
         var levelEvent = new ModifySpellLevelEvent(this, caster, level, level + addition);
         MinecraftForge.EVENT_BUS.post(levelEvent);
@@ -143,9 +150,12 @@ public abstract class AbstractSpell {
     }
 
     public int getManaCost(int level) {
-        return (int) ((baseManaCost + manaCostPerLevel * (level - 1)) * ServerConfigs.getSpellConfig(this).manaMultiplier());
+        return (int) ((getBaseManaCost() + getManaCostPerLevel() * (level - 1)) * ServerConfigs.getSpellConfig(this).manaMultiplier());
     }
 
+    /**
+     * Cooldowns stay server config driven. The bundled spell_parameters.json only seeds the config default, and its cooldown key is only applied to parameterized casts.
+     */
     public int getSpellCooldown() {
         return ServerConfigs.getSpellConfig(this).cooldownInTicks();
     }
@@ -154,30 +164,52 @@ public abstract class AbstractSpell {
         if (this.getCastType() == CastType.INSTANT) {
             return 0;
         }
-        return this.castTime;
+        return getBaseCastTime();
     }
 
-    public SpellParameterConfig snapshotParameters() {
-        return new SpellParameterConfig(this.baseManaCost, this.manaCostPerLevel, this.baseSpellPower, this.spellPowerPerLevel, this.castTime, this.getDefaultConfig().cooldownInSeconds);
+    /**
+     * The parameter values below resolve against the active {@link SpellCastContext} for this spell, if any, so parameterized casts never write into the spell instance.
+     * Otherwise they come from the currently loaded spell parameters, so a datapack reload applies to every cast's mana cost, spell power and cast time.
+     */
+    protected int getBaseManaCost() {
+        return currentParameters().baseManaCost();
+    }
+
+    protected int getManaCostPerLevel() {
+        return currentParameters().manaCostPerLevel();
     }
 
-    public SpellParameterConfig applyParameterOverrides(SpellParameterConfig overrides) {
-        SpellParameterConfig previous = snapshotParameters();
-        applyParameterConfig(overrides);
-        return previous;
+    protected int getBaseSpellPower() {
+        return currentParameters().baseSpellPower();
     }
 
-    public void restoreParameters(SpellParameterConfig config) {
-        applyParameterConfig(config);
+    protected int getSpellPowerPerLevel() {
+        return currentParameters().spellPowerPerLevel();
     }
 
-    private void applyParameterConfig(SpellParameterConfig config) {
-        this.baseManaCost = config.baseManaCost();
-        this.manaCostPerLevel = config.manaCostPerLevel();
-        this.baseSpellPower = config.baseSpellPower();
-        this.spellPowerPerLevel = config.spellPowerPerLevel();
-        this.castTime = config.castTime();
-        this.getDefaultConfig().cooldownInSeconds = config.cooldownSeconds();
+    protected int getBaseCastTime() {
+        return currentParameters().castTime();
+    }
+
+    private SpellParameterConfig currentParameters() {
+        var context = SpellCastContext.current(this);
+        if (context != null) {
+            return context.config();
+        }
+        int version = SpellParameterLoader.version();
+        var loaded = loadedParameters;
+        if (loaded == null || loaded.version() != version) {
+            loaded = new LoadedParameters(version, SpellParameterLoader.resolve(getSpellId(), SpellParameters.empty(), snapshotParameters()));
+            loadedParameters = loaded;
+        }
+        return loaded.config();
+    }
+
+    /**
+     * @return The spell's own parameter values, ignoring any active cast context
+     */
+    public SpellParameterConfig snapshotParameters() {
+        return new SpellParameterConfig(this.baseManaCost, this.manaCostPerLevel, this.baseSpellPower, this.spellPowerPerLevel, this.castTime, this.getDefaultConfig().cooldownInSeconds);
     }
 
     public ICastDataSerializable getEmptyCastData() {
@@ -228,7 +260,7 @@ public abstract class AbstractSpell {
             entitySchoolPowerModifier = this.getSchoolType().getPowerFor(livingEntity);
         }
 
-        return (float) ((baseSpellPower + spellPowerPerLevel * (spellLevel - 1)) * entitySpellPowerModifier * entitySchoolPowerModifier * configPowerModifier);
+        return (float) ((getBaseSpellPower() + getSpellPowerPerLevel() * (spellLevel - 1)) * entitySpellPowerModifier * entitySchoolPowerModifier * configPowerModifier);
     }
 
     public int getRecastCount(int spellLevel, @Nullable LivingEntity entity) {
@@ -319,7 +351,7 @@ public abstract class AbstractSpell {
         if (castSource.consumesMana() && !playerAlreadyHasRecast) {
             var newMana = Math.max(magicData.getMana() - event.getManaCost(), 0);
             magicData.setMana(newMana);
-            Messages.sendToPlayer(new ClientboundSyncMana(magicData), serverPlayer);
+            magicData.markManaDirty();
         }
         onCast(world, event.getSpellLevel(), serverPlayer, castSource, magicData);
 
@@ -70,12 +70,12 @@ public interface ISpellContainer extends INBTSerializable<CompoundTag> {
     }
 
     static ISpellContainer get(ItemStack itemStack) {
-        return new SpellContainer(itemStack);
+        return SpellContainer.fromItemStack(itemStack);
     }
 
     static ISpellContainer getOrCreate(ItemStack itemStack) {
         if (isSpellContainer(itemStack)) {
-            return new SpellContainer(itemStack);
+            return SpellContainer.fromItemStack(itemStack);
         } else {
             return new SpellContainer(1, true, false);
         }
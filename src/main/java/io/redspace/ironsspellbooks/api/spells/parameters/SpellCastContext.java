@@ -0,0 +1,97 @@
+package io.redspace.ironsspellbooks.api.spells.parameters;
+
+import io.redspace.ironsspellbooks.api.spells.AbstractSpell;
+
+import javax.annotation.Nullable;
+import java.util.function.Supplier;
+
+/**
+ * 单次参数化施法的不可变上下文。
+ * 施法期间通过 {@link #run} 挂载到当前线程，技能单例本身不会被修改，嵌套施法按栈结构依次恢复。
+ */
+public final class SpellCastContext {
+    private static final ThreadLocal<Frame> CURRENT = new ThreadLocal<>();
+
+    private record Frame(SpellCastContext context, @Nullable Frame parent) {
+    }
+
+    private final AbstractSpell spell;
+    private final SpellParameterConfig config;
+    private final SpellParameters parameters;
+
+    private SpellCastContext(AbstractSpell spell, SpellParameterConfig config, SpellParameters parameters) {
+        this.spell = spell;
+        this.config = config;
+        this.parameters = parameters;
+    }
+
+    /**
+     * 以技能当前的默认值为基线，解析出本次施法生效的参数配置。
+     */
+    public static SpellCastContext of(AbstractSpell spell, SpellParameters parameters) {
+        SpellParameterConfig resolved = SpellParameterLoader.resolve(spell.getSpellId(), parameters, spell.snapshotParameters());
+        return new SpellCastContext(spell, resolved, parameters);
+    }
+
+    public static SpellCastContext of(AbstractSpell spell, SpellParameterConfig config, SpellParameters parameters) {
+        return new SpellCastContext(spell, config, parameters);
+    }
+
+    /**
+     * @return 指定技能在当前线程上最近挂载的上下文，没有则返回 null
+     */
+    @Nullable
+    public static SpellCastContext current(AbstractSpell spell) {
+        for (Frame frame = CURRENT.get(); frame != null; frame = frame.parent()) {
+            if (frame.context().spell == spell) {
+                return frame.context();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 在给定参数下执行施法逻辑。若外层已经为同一技能和同一组参数挂载了上下文（例如 {@code SpellCastManager}），则直接复用，不再重复解析。
+     */
+    public static void runWith(AbstractSpell spell, SpellParameters parameters, Runnable action) {
+        SpellCastContext existing = current(spell);
+        if (existing != null && existing.parameters == parameters) {
+            action.run();
+            return;
+        }
+        of(spell, parameters).run(action);
+    }
+
+    public void run(Runnable action) {
+        call(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public <T> T call(Supplier<T> action) {
+        Frame previous = CURRENT.get();
+        CURRENT.set(new Frame(this, previous));
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    public AbstractSpell spell() {
+        return spell;
+    }
+
+    public SpellParameterConfig config() {
+        return config;
+    }
+
+    public SpellParameters parameters() {
+        return parameters;
+    }
+}
@@ -4,9 +4,17 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import io.redspace.ironsspellbooks.IronsSpellbooks;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.packs.resources.PreparableReloadListener;
+import net.minecraft.server.packs.resources.Resource;
+import net.minecraft.server.packs.resources.ResourceManager;
+import net.minecraft.server.packs.resources.SimplePreparableReloadListener;
+import net.minecraft.util.profiling.ProfilerFiller;
 
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Reader;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.EnumSet;
@@ -26,76 +34,91 @@ public final class SpellParameterLoader {
     private record LoadedConfig(SpellParameterConfig config, EnumSet<ParameterKey> presentKeys) {
     }
 
-    private static final String RESOURCE_PATH = "data/" + IronsSpellbooks.MODID + "/spell_parameters.json";
-    private static Map<String, LoadedConfig> CONFIGS;
+    private static final String FILE_NAME = "spell_parameters.json";
+    private static final String RESOURCE_PATH = "data/" + IronsSpellbooks.MODID + "/" + FILE_NAME;
+    /**
+     * 当前生效的不可变快照。读取端无锁，重载时整体替换。
+     */
+    private static volatile Map<String, LoadedConfig> CONFIGS;
+    /**
+     * 每次重载后递增，技能据此判断缓存的参数是否过期。
+     */
+    private static volatile int VERSION;
+    /**
+     * 客户端当前是否使用服务端下发的快照，断开连接时据此恢复 jar 内自带的参数。
+     */
+    private static volatile boolean SYNCED;
 
     private SpellParameterLoader() {
     }
 
     public static SpellParameterConfig get(String spellId) {
-        ensureLoaded();
-        LoadedConfig loaded = CONFIGS.get(spellId);
+        LoadedConfig loaded = configs().get(spellId);
         return loaded != null ? loaded.config() : SpellParameterConfig.DEFAULT;
     }
 
+    public static int version() {
+        return VERSION;
+    }
+
     public static boolean hasConfig(String spellId) {
-        ensureLoaded();
-        return CONFIGS.containsKey(spellId);
+        return configs().containsKey(spellId);
     }
 
     public static SpellParameterConfig resolve(String spellId, SpellParameters parameters, SpellParameterConfig fallback) {
-        ensureLoaded();
-        LoadedConfig loaded = CONFIGS.get(spellId);
+        LoadedConfig loaded = configs().get(spellId);
         SpellParameterConfig base = loaded != null ? loaded.config() : SpellParameterConfig.DEFAULT;
         EnumSet<ParameterKey> present = loaded != null ? loaded.presentKeys() : EnumSet.noneOf(ParameterKey.class);
         SpellParameterConfig effective = mergeWithFallback(base, fallback, present);
         return effective.withOverrides(parameters);
     }
 
-    private static void ensureLoaded() {
-        if (CONFIGS != null) {
+    public static PreparableReloadListener reloadListener() {
+        return new ReloadListener();
+    }
+
+    /**
+     * 客户端收到服务端快照后整体替换本地参数，使提示文本与服务端实际生效的数值一致。
+     */
+    public static void applySynced(SyncedConfigs synced) {
+        CONFIGS = synced.configs;
+        SYNCED = true;
+        VERSION++;
+        SpellParameterSchema.invalidateCache();
+    }
+
+    /**
+     * 断开连接时丢弃服务端快照，下次访问重新读取 jar 内自带的文件。
+     */
+    public static void dropSynced() {
+        if (!SYNCED) {
             return;
         }
+        SYNCED = false;
+        CONFIGS = null;
+        VERSION++;
+        SpellParameterSchema.invalidateCache();
+    }
+
+    private static Map<String, LoadedConfig> configs() {
+        Map<String, LoadedConfig> configs = CONFIGS;
+        if (configs == null) {
+            configs = loadBundled();
+        }
+        return configs;
+    }
+
+    /**
+     * 技能在注册阶段（早于数据包加载）就需要默认值，因此首次访问时先读取 jar 内自带的文件。
+     */
+    private static synchronized Map<String, LoadedConfig> loadBundled() {
+        if (CONFIGS != null) {
+            return CONFIGS;
+        }
         Map<String, LoadedConfig> map = new HashMap<>();
         try (InputStream stream = SpellParameterLoader.class.getClassLoader().getResourceAsStream(RESOURCE_PATH)) {
             if (stream != null) {
-                JsonObject root = JsonParser.parseReader(new InputStreamReader(stream, StandardCharsets.UTF_8)).getAsJsonObject();
-                for (Map.Entry<String, JsonElement> entry : root.entrySet()) {
-                    JsonObject obj = entry.getValue().getAsJsonObject();
-                    EnumSet<ParameterKey> present = EnumSet.noneOf(ParameterKey.class);
-                    int baseManaCost = 0;
-                    if (obj.has("baseManaCost")) {
-                        baseManaCost = obj.get("baseManaCost").getAsInt();
-                        present.add(ParameterKey.BASE_MANA_COST);
-                    }
-                    int manaCostPerLevel = 0;
-                    if (obj.has("manaCostPerLevel")) {
-                        manaCostPerLevel = obj.get("manaCostPerLevel").getAsInt();
-                        present.add(ParameterKey.MANA_COST_PER_LEVEL);
-                    }
-                    int baseSpellPower = 0;
-                    if (obj.has("baseSpellPower")) {
-                        baseSpellPower = obj.get("baseSpellPower").getAsInt();
-                        present.add(ParameterKey.BASE_SPELL_POWER);
-                    }
-                    int spellPowerPerLevel = 0;
-                    if (obj.has("spellPowerPerLevel")) {
-                        spellPowerPerLevel = obj.get("spellPowerPerLevel").getAsInt();
-                        present.add(ParameterKey.SPELL_POWER_PER_LEVEL);
-                    }
-                    int castTime = 0;
-                    if (obj.has("castTime")) {
-                        castTime = obj.get("castTime").getAsInt();
-                        present.add(ParameterKey.CAST_TIME);
-                    }
-                    double cooldown = 0d;
-                    if (obj.has("cooldown")) {
-                        cooldown = obj.get("cooldown").getAsDouble();
-                        present.add(ParameterKey.COOLDOWN);
-                    }
-                    SpellParameterConfig config = new SpellParameterConfig(baseManaCost, manaCostPerLevel, baseSpellPower, spellPowerPerLevel, castTime, cooldown);
-                    map.put(entry.getKey(), new LoadedConfig(config, present));
-                }
+                mergeInto(map, JsonParser.parseReader(new InputStreamReader(stream, StandardCharsets.UTF_8)).getAsJsonObject());
             } else {
                 IronsSpellbooks.LOGGER.warn("spell_parameters.json 未找到，使用默认参数");
             }
@@ -103,6 +126,135 @@ public final class SpellParameterLoader {
             IronsSpellbooks.LOGGER.error("加载 spell_parameters.json 失败", e);
         }
         CONFIGS = Collections.unmodifiableMap(map);
+        return CONFIGS;
+    }
+
+    /**
+     * 把一个文件中的条目合并进 map，后合并的文件按字段覆盖已有的值。
+     */
+    private static void mergeInto(Map<String, LoadedConfig> map, JsonObject root) {
+        for (Map.Entry<String, JsonElement> entry : root.entrySet()) {
+            JsonObject obj = entry.getValue().getAsJsonObject();
+            LoadedConfig previous = map.get(entry.getKey());
+            SpellParameterConfig base = previous != null ? previous.config() : SpellParameterConfig.DEFAULT;
+            EnumSet<ParameterKey> present = previous != null ? EnumSet.copyOf(previous.presentKeys()) : EnumSet.noneOf(ParameterKey.class);
+            int baseManaCost = base.baseManaCost();
+            if (obj.has("baseManaCost")) {
+                baseManaCost = obj.get("baseManaCost").getAsInt();
+                present.add(ParameterKey.BASE_MANA_COST);
+            }
+            int manaCostPerLevel = base.manaCostPerLevel();
+            if (obj.has("manaCostPerLevel")) {
+                manaCostPerLevel = obj.get("manaCostPerLevel").getAsInt();
+                present.add(ParameterKey.MANA_COST_PER_LEVEL);
+            }
+            int baseSpellPower = base.baseSpellPower();
+            if (obj.has("baseSpellPower")) {
+                baseSpellPower = obj.get("baseSpellPower").getAsInt();
+                present.add(ParameterKey.BASE_SPELL_POWER);
+            }
+            int spellPowerPerLevel = base.spellPowerPerLevel();
+            if (obj.has("spellPowerPerLevel")) {
+                spellPowerPerLevel = obj.get("spellPowerPerLevel").getAsInt();
+                present.add(ParameterKey.SPELL_POWER_PER_LEVEL);
+            }
+            int castTime = base.castTime();
+            if (obj.has("castTime")) {
+                castTime = obj.get("castTime").getAsInt();
+                present.add(ParameterKey.CAST_TIME);
+            }
+            double cooldown = base.cooldownSeconds();
+            if (obj.has("cooldown")) {
+                cooldown = obj.get("cooldown").getAsDouble();
+                present.add(ParameterKey.COOLDOWN);
+            }
+            SpellParameterConfig config = new SpellParameterConfig(baseManaCost, manaCostPerLevel, baseSpellPower, spellPowerPerLevel, castTime, cooldown);
+            map.put(entry.getKey(), new LoadedConfig(config, present));
+        }
+    }
+
+    /**
+     * 从所有数据包的 {@code data/<namespace>/spell_parameters.json} 读取参数，按数据包顺序逐字段合并，
+     * 在后台线程解析完成后于 apply 阶段一次性替换快照。
+     */
+    private static class ReloadListener extends SimplePreparableReloadListener<Map<String, LoadedConfig>> {
+        @Override
+        protected Map<String, LoadedConfig> prepare(ResourceManager resourceManager, ProfilerFiller profiler) {
+            Map<String, LoadedConfig> map = new HashMap<>();
+            for (String namespace : resourceManager.getNamespaces()) {
+                ResourceLocation location = ResourceLocation.fromNamespaceAndPath(namespace, FILE_NAME);
+                for (Resource resource : resourceManager.getResourceStack(location)) {
+                    try (Reader reader = resource.openAsReader()) {
+                        mergeInto(map, JsonParser.parseReader(reader).getAsJsonObject());
+                    } catch (Exception e) {
+                        IronsSpellbooks.LOGGER.error("加载数据包 {} 中的 {} 失败", resource.sourcePackId(), location, e);
+                    }
+                }
+            }
+            return map;
+        }
+
+        @Override
+        protected void apply(Map<String, LoadedConfig> map, ResourceManager resourceManager, ProfilerFiller profiler) {
+            CONFIGS = Collections.unmodifiableMap(map);
+            VERSION++;
+            SpellParameterSchema.invalidateCache();
+            IronsSpellbooks.LOGGER.debug("已加载 {} 个技能参数定义", map.size());
+        }
+    }
+
+    /**
+     * 合并后的参数快照，用于服务端同步到客户端。每个条目连同已定义字段的位掩码一起写出，
+     * 客户端与 fallback 合并时与服务端结果一致。
+     */
+    public static final class SyncedConfigs {
+        private final Map<String, LoadedConfig> configs;
+
+        private SyncedConfigs(Map<String, LoadedConfig> configs) {
+            this.configs = configs;
+        }
+
+        public static SyncedConfigs capture() {
+            return new SyncedConfigs(configs());
+        }
+
+        public static SyncedConfigs read(FriendlyByteBuf buf) {
+            int size = buf.readVarInt();
+            Map<String, LoadedConfig> map = new HashMap<>(size);
+            ParameterKey[] keys = ParameterKey.values();
+            for (int i = 0; i < size; i++) {
+                String spellId = buf.readUtf();
+                SpellParameterConfig config = new SpellParameterConfig(buf.readInt(), buf.readInt(), buf.readInt(), buf.readInt(), buf.readInt(), buf.readDouble());
+                int mask = buf.readByte();
+                EnumSet<ParameterKey> present = EnumSet.noneOf(ParameterKey.class);
+                for (ParameterKey key : keys) {
+                    if ((mask & (1 << key.ordinal())) != 0) {
+                        present.add(key);
+                    }
+                }
+                map.put(spellId, new LoadedConfig(config, present));
+            }
+            return new SyncedConfigs(Collections.unmodifiableMap(map));
+        }
+
+        public void write(FriendlyByteBuf buf) {
+            buf.writeVarInt(configs.size());
+            for (Map.Entry<String, LoadedConfig> entry : configs.entrySet()) {
+                SpellParameterConfig config = entry.getValue().config();
+                buf.writeUtf(entry.getKey());
+                buf.writeInt(config.baseManaCost());
+                buf.writeInt(config.manaCostPerLevel());
+                buf.writeInt(config.baseSpellPower());
+                buf.writeInt(config.spellPowerPerLevel());
+                buf.writeInt(config.castTime());
+                buf.writeDouble(config.cooldownSeconds());
+                int mask = 0;
+                for (ParameterKey key : entry.getValue().presentKeys()) {
+                    mask |= 1 << key.ordinal();
+                }
+                buf.writeByte(mask);
+            }
+        }
     }
 
     private static SpellParameterConfig mergeWithFallback(SpellParameterConfig base,
@@ -1,15 +1,21 @@
 package io.redspace.ironsspellbooks.api.spells.parameters;
 
 import com.google.common.collect.ImmutableList;
+import io.redspace.ironsspellbooks.api.spells.AbstractSpell;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import net.minecraft.ChatFormatting;
 import net.minecraft.network.chat.Component;
+import net.minecraft.network.chat.MutableComponent;
 
+import javax.annotation.Nullable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class SpellParameterSchema {
     private static final Map<String, ParameterDefinition> GLOBAL_DEFINITIONS;
@@ -24,18 +30,82 @@ public class SpellParameterSchema {
         GLOBAL_DEFINITIONS = Collections.unmodifiableMap(builder.definitions);
     }
 
+    private static final Map<String, SpellParameterSchema> STANDARD_SCHEMAS = new ConcurrentHashMap<>();
+
     private final Map<String, ParameterDefinition> definitions;
     private final Map<String, String> aliasToPrimary;
+    /**
+     * 编译后的参数槽位：先是技能自身的定义（按声明顺序），然后是全局定义。
+     */
+    private final ParameterDefinition[] slots;
+    private final int ownSlotCount;
+    /**
+     * 主键、别名、全局键到槽位下标的预计算表，未命中返回 -1。
+     */
+    private final Object2IntOpenHashMap<String> slotLookup;
+    /**
+     * 预先转换好的默认值，校验时按槽位直接复制。
+     */
+    private final SpellParameters defaults;
 
     private SpellParameterSchema(Map<String, ParameterDefinition> definitions, Map<String, String> aliasToPrimary) {
         this.definitions = definitions;
         this.aliasToPrimary = aliasToPrimary;
+
+        List<ParameterDefinition> compiled = new ArrayList<>(definitions.values());
+        this.ownSlotCount = compiled.size();
+        for (ParameterDefinition global : GLOBAL_DEFINITIONS.values()) {
+            if (!definitions.containsKey(global.name())) {
+                compiled.add(global);
+            }
+        }
+        this.slots = compiled.toArray(new ParameterDefinition[0]);
+        this.slotLookup = new Object2IntOpenHashMap<>(slots.length + aliasToPrimary.size());
+        this.slotLookup.defaultReturnValue(-1);
+        for (int i = 0; i < slots.length; i++) {
+            slotLookup.put(slots[i].name(), i);
+        }
+        for (Map.Entry<String, String> alias : aliasToPrimary.entrySet()) {
+            slotLookup.put(alias.getKey(), slotLookup.getInt(alias.getValue()));
+        }
+        SpellParameters.Builder defaultValues = SpellParameters.builder(ownSlotCount);
+        for (int i = 0; i < ownSlotCount; i++) {
+            if (slots[i].defaultValue() != null) {
+                defaultValues.putBoxed(slots[i].name(), slots[i].defaultValue());
+            }
+        }
+        this.defaults = defaultValues.build();
     }
 
     public static Builder builder() {
         return new Builder();
     }
 
+    /**
+     * 大多数技能共用的标准参数表，默认值取自技能当前参数与 {@link SpellParameterLoader} 的合并结果。
+     * 每个技能只编译一次，参数定义重新加载后需调用 {@link #invalidateCache()}。
+     */
+    public static SpellParameterSchema standard(AbstractSpell spell) {
+        return STANDARD_SCHEMAS.computeIfAbsent(spell.getSpellId(), id -> {
+            SpellParameterConfig parameters = SpellParameterLoader.resolve(id, SpellParameters.empty(), spell.snapshotParameters());
+            return builder()
+                    .optional("baseManaCost", ParameterType.INT, parameters.baseManaCost(), "基础魔力消耗")
+                    .alias("manaCost", "baseManaCost")
+                    .optional("manaCostPerLevel", ParameterType.INT, parameters.manaCostPerLevel(), "每级魔力增量")
+                    .optional("baseSpellPower", ParameterType.INT, parameters.baseSpellPower(), "基础技能威力")
+                    .alias("power", "baseSpellPower")
+                    .optional("spellPowerPerLevel", ParameterType.INT, parameters.spellPowerPerLevel(), "每级威力增量")
+                    .alias("levelScaling", "spellPowerPerLevel")
+                    .optional("castTime", ParameterType.INT, parameters.castTime(), "施法时间 (tick)")
+                    .optional("cooldown", ParameterType.DOUBLE, parameters.cooldownSeconds(), "默认冷却 (秒)")
+                    .build();
+        });
+    }
+
+    public static void invalidateCache() {
+        STANDARD_SCHEMAS.clear();
+    }
+
     public Map<String, ParameterDefinition> getDefinitions() {
         return definitions;
     }
@@ -45,60 +115,55 @@ public class SpellParameterSchema {
     }
 
     public String resolveKey(String key) {
-        if (definitions.containsKey(key) || GLOBAL_DEFINITIONS.containsKey(key)) {
-            return key;
-        }
-        return aliasToPrimary.get(key);
+        int slot = slotLookup.getInt(key);
+        return slot < 0 ? null : slots[slot].name();
     }
 
     public ValidationResult validate(SpellParameters parameters) {
-        Map<String, Object> normalizedValues = new LinkedHashMap<>();
-        List<Component> errors = new ArrayList<>();
-
-        for (Map.Entry<String, Object> entry : parameters.asMap().entrySet()) {
-            String key = entry.getKey();
-            Object value = entry.getValue();
-            String canonical = resolveKey(key);
-            if (canonical == null) {
-                errors.add(Component.literal("未知参数: " + key).withStyle(ChatFormatting.RED));
-                continue;
-            }
-
-            ParameterDefinition definition = definitions.getOrDefault(canonical, GLOBAL_DEFINITIONS.get(canonical));
-            if (definition == null) {
-                errors.add(Component.literal("未定义的参数: " + canonical).withStyle(ChatFormatting.RED));
-                continue;
-            }
+        int[] sourceIndex = new int[slots.length];
+        Arrays.fill(sourceIndex, -1);
+        List<Component> errors = null;
 
-            if (!definition.type().isValueValid(value)) {
-                errors.add(Component.literal("参数 '" + key + "' 的类型不匹配，期望 " + definition.type().getDisplayName())
-                        .withStyle(ChatFormatting.RED));
+        for (int i = 0; i < parameters.size(); i++) {
+            String key = parameters.keyAt(i);
+            int slot = slotLookup.getInt(key);
+            if (slot < 0) {
+                errors = addError(errors, Component.literal("未知参数: " + key));
                 continue;
             }
 
-            Object normalized = definition.type().normalize(value);
-            if (normalized == null) {
-                errors.add(Component.literal("参数 '" + key + "' 无法转换为有效值").withStyle(ChatFormatting.RED));
+            ParameterDefinition definition = slots[slot];
+            if (!parameters.isConvertible(i, definition.type())) {
+                errors = addError(errors, Component.literal("参数 '" + key + "' 的类型不匹配，期望 " + definition.type().getDisplayName()));
                 continue;
             }
 
-            if (normalizedValues.containsKey(canonical)) {
-                errors.add(Component.literal("参数 '" + canonical + "' 被重复定义").withStyle(ChatFormatting.RED));
+            if (sourceIndex[slot] >= 0) {
+                errors = addError(errors, Component.literal("参数 '" + definition.name() + "' 被重复定义"));
                 continue;
             }
 
-            normalizedValues.put(canonical, normalized);
+            sourceIndex[slot] = i;
         }
 
-        for (ParameterDefinition definition : definitions.values()) {
-            if (definition.required() && !normalizedValues.containsKey(definition.name())) {
-                errors.add(Component.literal("缺少必填参数: " + definition.name()).withStyle(ChatFormatting.RED));
-            } else if (!normalizedValues.containsKey(definition.name()) && definition.defaultValue() != null) {
-                normalizedValues.put(definition.name(), definition.defaultValue());
+        SpellParameters.Builder normalized = SpellParameters.builder(slots.length);
+        for (int slot = 0; slot < slots.length; slot++) {
+            ParameterDefinition definition = slots[slot];
+            if (sourceIndex[slot] >= 0) {
+                normalized.putNormalized(definition.name(), definition.type(), parameters, sourceIndex[slot]);
+            } else if (slot < ownSlotCount) {
+                if (definition.required()) {
+                    errors = addError(errors, Component.literal("缺少必填参数: " + definition.name()));
+                } else {
+                    int defaultIndex = defaults.indexOf(definition.name());
+                    if (defaultIndex >= 0) {
+                        normalized.putNormalized(definition.name(), definition.type(), defaults, defaultIndex);
+                    }
+                }
             }
         }
 
-        if (!errors.isEmpty()) {
+        if (errors != null) {
             var message = Component.literal("");
             for (Component error : errors) {
                 message.append(error);
@@ -107,7 +172,15 @@ public class SpellParameterSchema {
             return ValidationResult.failure(message);
         }
 
-        return ValidationResult.success(SpellParameters.fromMap(normalizedValues));
+        return ValidationResult.success(normalized.build());
+    }
+
+    private static List<Component> addError(@Nullable List<Component> errors, MutableComponent error) {
+        if (errors == null) {
+            errors = new ArrayList<>();
+        }
+        errors.add(error.withStyle(ChatFormatting.RED));
+        return errors;
     }
 
     public record ParameterDefinition(String name,
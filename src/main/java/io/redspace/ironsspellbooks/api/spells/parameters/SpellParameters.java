@@ -4,200 +4,476 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.Tag;
 import net.minecraft.world.phys.Vec3;
 
 import javax.annotation.Nullable;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.UUID;
 
+/**
+ * 按槽位存储的施法参数。
+ * INT/FLOAT/DOUBLE/BOOLEAN 以原始位存放在 {@code primitives} 中，其余类型存放在 {@code objects} 中；
+ * 参数数量很少，按键读取时线性比较即可，无需哈希与拆箱。槽位类型为 null 表示无法识别的原始值（例如嵌套的 NBT）。
+ */
 public class SpellParameters {
-    private final Map<String, Object> parameters;
+    private static final String[] NO_KEYS = new String[0];
+    private static final ParameterType[] NO_TYPES = new ParameterType[0];
+    private static final long[] NO_PRIMITIVES = new long[0];
+    private static final Object[] NO_OBJECTS = new Object[0];
+    private static final SpellParameters EMPTY = new SpellParameters();
 
-    public SpellParameters() {
-        this.parameters = new HashMap<>();
-    }
+    private final String[] keys;
+    private final ParameterType[] types;
+    private final long[] primitives;
+    private final Object[] objects;
 
-    private SpellParameters(Map<String, Object> parameters) {
-        this.parameters = parameters;
+    public SpellParameters() {
+        this(NO_KEYS, NO_TYPES, NO_PRIMITIVES, NO_OBJECTS);
     }
 
-    private SpellParameters(Map<String, Object> parameters, boolean copy) {
-        this.parameters = copy ? new HashMap<>(parameters) : parameters;
+    private SpellParameters(String[] keys, ParameterType[] types, long[] primitives, Object[] objects) {
+        this.keys = keys;
+        this.types = types;
+        this.primitives = primitives;
+        this.objects = objects;
     }
 
     public static SpellParameters fromJson(String jsonString) {
-        Map<String, Object> params = new HashMap<>();
         if (jsonString == null || jsonString.isEmpty()) {
-            return new SpellParameters(params);
+            return empty();
         }
         JsonObject json = JsonParser.parseString(jsonString).getAsJsonObject();
+        Builder builder = new Builder(json.size());
         for (Map.Entry<String, JsonElement> entry : json.entrySet()) {
-            params.put(entry.getKey(), parseJsonValue(entry.getValue()));
+            putJsonValue(builder, entry.getKey(), entry.getValue());
         }
-        return new SpellParameters(params);
+        return builder.build();
     }
 
     public static SpellParameters fromMap(Map<String, Object> values) {
-        return new SpellParameters(values, true);
+        Builder builder = new Builder(values.size());
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            builder.putBoxed(entry.getKey(), entry.getValue());
+        }
+        return builder.build();
     }
 
     public static SpellParameters fromNBT(CompoundTag tag) {
-        Map<String, Object> params = new HashMap<>();
+        Builder builder = new Builder(tag.size());
         for (String key : tag.getAllKeys()) {
-            params.put(key, parseNbtValue(tag.getTagType(key), tag, key));
+            putNbtValue(builder, tag, key);
         }
-        return new SpellParameters(params);
+        return builder.build();
     }
 
     public static SpellParameters empty() {
-        return new SpellParameters();
+        return EMPTY;
+    }
+
+    public static Builder builder(int expectedSize) {
+        return new Builder(expectedSize);
     }
 
     public CompoundTag toNBT() {
         CompoundTag tag = new CompoundTag();
-        for (Map.Entry<String, Object> entry : parameters.entrySet()) {
-            Object value = entry.getValue();
-            if (value instanceof Integer i) {
-                tag.putInt(entry.getKey(), i);
-            } else if (value instanceof Float f) {
-                tag.putFloat(entry.getKey(), f);
-            } else if (value instanceof Double d) {
-                tag.putDouble(entry.getKey(), d);
-            } else if (value instanceof String s) {
-                tag.putString(entry.getKey(), s);
-            } else if (value instanceof Boolean b) {
-                tag.putBoolean(entry.getKey(), b);
-            } else if (value instanceof Vec3 vec) {
-                CompoundTag vecTag = new CompoundTag();
-                vecTag.putDouble("x", vec.x);
-                vecTag.putDouble("y", vec.y);
-                vecTag.putDouble("z", vec.z);
-                tag.put(entry.getKey(), vecTag);
-            } else if (value instanceof UUID uuid) {
-                CompoundTag uuidTag = new CompoundTag();
-                uuidTag.putUUID("value", uuid);
-                tag.put(entry.getKey(), uuidTag);
+        for (int i = 0; i < keys.length; i++) {
+            String key = keys[i];
+            ParameterType type = types[i];
+            if (type == null) {
+                if (objects[i] instanceof Tag raw) {
+                    tag.put(key, raw.copy());
+                }
+                continue;
+            }
+            switch (type) {
+                case INT -> tag.putInt(key, (int) primitives[i]);
+                case FLOAT -> tag.putFloat(key, Float.intBitsToFloat((int) primitives[i]));
+                case DOUBLE -> tag.putDouble(key, Double.longBitsToDouble(primitives[i]));
+                case BOOLEAN -> tag.putBoolean(key, primitives[i] != 0);
+                case STRING -> tag.putString(key, (String) objects[i]);
+                case VEC3 -> {
+                    Vec3 vec = (Vec3) objects[i];
+                    CompoundTag vecTag = new CompoundTag();
+                    vecTag.putDouble("x", vec.x);
+                    vecTag.putDouble("y", vec.y);
+                    vecTag.putDouble("z", vec.z);
+                    tag.put(key, vecTag);
+                }
+                case UUID -> {
+                    CompoundTag uuidTag = new CompoundTag();
+                    uuidTag.putUUID("value", (UUID) objects[i]);
+                    tag.put(key, uuidTag);
+                }
+                default -> {
+                }
             }
         }
         return tag;
     }
 
+    public int size() {
+        return keys.length;
+    }
+
+    public boolean isEmpty() {
+        return keys.length == 0;
+    }
+
+    /**
+     * @return 参数所在槽位，不存在时返回 -1
+     */
+    public int indexOf(String key) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] == key) {
+                return i;
+            }
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i].equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public String keyAt(int index) {
+        return keys[index];
+    }
+
+    /**
+     * @return 槽位的存储类型，null 表示无法识别的原始值
+     */
+    @Nullable
+    public ParameterType typeAt(int index) {
+        return types[index];
+    }
+
     public boolean has(String key) {
-        return parameters.containsKey(key);
+        return indexOf(key) >= 0;
     }
 
     public int getInt(String key, int defaultValue) {
-        Object value = parameters.get(key);
-        if (value instanceof Number number) {
-            return number.intValue();
-        }
-        return defaultValue;
+        return getIntAt(indexOf(key), defaultValue);
     }
 
     public double getDouble(String key, double defaultValue) {
-        Object value = parameters.get(key);
-        if (value instanceof Number number) {
-            return number.doubleValue();
-        }
-        return defaultValue;
+        return getDoubleAt(indexOf(key), defaultValue);
     }
 
     public float getFloat(String key, float defaultValue) {
-        Object value = parameters.get(key);
-        if (value instanceof Number number) {
-            return number.floatValue();
-        }
-        return defaultValue;
+        return (float) getDoubleAt(indexOf(key), defaultValue);
     }
 
     public boolean getBoolean(String key, boolean defaultValue) {
-        Object value = parameters.get(key);
-        if (value instanceof Boolean bool) {
-            return bool;
-        }
-        return defaultValue;
+        return getBooleanAt(indexOf(key), defaultValue);
     }
 
     public String getString(String key, String defaultValue) {
-        Object value = parameters.get(key);
-        if (value instanceof String str) {
-            return str;
+        int index = indexOf(key);
+        if (index >= 0 && types[index] == ParameterType.STRING) {
+            return (String) objects[index];
         }
         return defaultValue;
     }
 
     public Vec3 getVec3(String key, @Nullable Vec3 defaultValue) {
-        Object value = parameters.get(key);
-        if (value instanceof Vec3 vec3) {
-            return vec3;
+        int index = indexOf(key);
+        if (index >= 0 && types[index] == ParameterType.VEC3) {
+            return (Vec3) objects[index];
         }
         return defaultValue;
     }
 
     @Nullable
     public UUID getUUID(String key) {
-        Object value = parameters.get(key);
-        if (value instanceof UUID uuid) {
-            return uuid;
+        int index = indexOf(key);
+        if (index < 0) {
+            return null;
+        }
+        if (types[index] == ParameterType.UUID) {
+            return (UUID) objects[index];
         }
-        if (value instanceof String str) {
+        if (types[index] == ParameterType.STRING) {
             try {
-                return UUID.fromString(str);
+                return UUID.fromString((String) objects[index]);
             } catch (IllegalArgumentException ignored) {
             }
         }
         return null;
     }
 
+    public int getIntAt(int index, int defaultValue) {
+        if (index < 0 || types[index] == null) {
+            return defaultValue;
+        }
+        return switch (types[index]) {
+            case INT -> (int) primitives[index];
+            case FLOAT -> (int) Float.intBitsToFloat((int) primitives[index]);
+            case DOUBLE -> (int) Double.longBitsToDouble(primitives[index]);
+            default -> defaultValue;
+        };
+    }
+
+    public double getDoubleAt(int index, double defaultValue) {
+        if (index < 0 || types[index] == null) {
+            return defaultValue;
+        }
+        return switch (types[index]) {
+            case INT -> (int) primitives[index];
+            case FLOAT -> Float.intBitsToFloat((int) primitives[index]);
+            case DOUBLE -> Double.longBitsToDouble(primitives[index]);
+            default -> defaultValue;
+        };
+    }
+
+    public boolean getBooleanAt(int index, boolean defaultValue) {
+        if (index >= 0 && types[index] == ParameterType.BOOLEAN) {
+            return primitives[index] != 0;
+        }
+        return defaultValue;
+    }
+
+    /**
+     * @return 槽位值的装箱形式，仅用于调试和兼容旧接口
+     */
+    @Nullable
+    public Object valueAt(int index) {
+        ParameterType type = types[index];
+        if (type == null) {
+            return objects[index];
+        }
+        return switch (type) {
+            case INT -> (int) primitives[index];
+            case FLOAT -> Float.intBitsToFloat((int) primitives[index]);
+            case DOUBLE -> Double.longBitsToDouble(primitives[index]);
+            case BOOLEAN -> primitives[index] != 0;
+            default -> objects[index];
+        };
+    }
+
+    /**
+     * 只读的装箱视图。热路径请使用带类型的读取方法。
+     */
     public Map<String, Object> asMap() {
-        return parameters;
+        Map<String, Object> map = new LinkedHashMap<>(keys.length * 2);
+        for (int i = 0; i < keys.length; i++) {
+            map.put(keys[i], valueAt(i));
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * 判断第 index 个槽位能否按目标类型归一化，规则与 {@link ParameterType#isValueValid} 一致。
+     */
+    boolean isConvertible(int index, ParameterType target) {
+        ParameterType source = types[index];
+        if (source == null) {
+            return objects[index] != null && target.isValueValid(objects[index]);
+        }
+        boolean numeric = source == ParameterType.INT || source == ParameterType.FLOAT || source == ParameterType.DOUBLE;
+        return switch (target) {
+            case INT, FLOAT, DOUBLE -> numeric;
+            case BOOLEAN -> numeric || source == ParameterType.BOOLEAN;
+            case STRING, ENTITY_SELECTOR, DIMENSION -> true;
+            case VEC3 -> source == ParameterType.VEC3;
+            case UUID -> source == ParameterType.UUID || (source == ParameterType.STRING && isUuid((String) objects[index]));
+        };
+    }
+
+    @Override
+    public String toString() {
+        return "SpellParameters" + asMap();
+    }
+
+    private static boolean isUuid(String raw) {
+        try {
+            UUID.fromString(raw);
+            return true;
+        } catch (IllegalArgumentException ignored) {
+            return false;
+        }
     }
 
-    private static Object parseJsonValue(JsonElement value) {
+    private static void putJsonValue(Builder builder, String key, JsonElement value) {
         if (value.isJsonPrimitive()) {
             var primitive = value.getAsJsonPrimitive();
             if (primitive.isNumber()) {
                 if (primitive.getAsString().contains(".")) {
-                    return primitive.getAsDouble();
+                    builder.putDouble(key, primitive.getAsDouble());
                 } else {
-                    return primitive.getAsInt();
+                    builder.putInt(key, primitive.getAsInt());
                 }
+                return;
             } else if (primitive.isBoolean()) {
-                return primitive.getAsBoolean();
+                builder.putBoolean(key, primitive.getAsBoolean());
+                return;
             } else if (primitive.isString()) {
                 String raw = primitive.getAsString();
                 try {
-                    return UUID.fromString(raw);
+                    builder.putObject(key, ParameterType.UUID, UUID.fromString(raw));
                 } catch (IllegalArgumentException ignored) {
-                    return raw;
+                    builder.putObject(key, ParameterType.STRING, raw);
                 }
+                return;
             }
         } else if (value.isJsonArray() && value.getAsJsonArray().size() == 3) {
             var array = value.getAsJsonArray();
-            return new Vec3(array.get(0).getAsDouble(), array.get(1).getAsDouble(), array.get(2).getAsDouble());
+            builder.putObject(key, ParameterType.VEC3, new Vec3(array.get(0).getAsDouble(), array.get(1).getAsDouble(), array.get(2).getAsDouble()));
+            return;
         }
-        return null;
+        builder.putObject(key, null, null);
     }
 
-    private static Object parseNbtValue(byte type, CompoundTag tag, String key) {
-        return switch (type) {
-            case 3 -> tag.getInt(key);
-            case 5 -> tag.getFloat(key);
-            case 6 -> tag.getDouble(key);
-            case 8 -> tag.getString(key);
-            case 1 -> tag.getBoolean(key);
-            case 10 -> {
+    private static void putNbtValue(Builder builder, CompoundTag tag, String key) {
+        switch (tag.getTagType(key)) {
+            case Tag.TAG_INT -> builder.putInt(key, tag.getInt(key));
+            case Tag.TAG_FLOAT -> builder.putFloat(key, tag.getFloat(key));
+            case Tag.TAG_DOUBLE -> builder.putDouble(key, tag.getDouble(key));
+            case Tag.TAG_STRING -> builder.putObject(key, ParameterType.STRING, tag.getString(key));
+            case Tag.TAG_BYTE -> builder.putBoolean(key, tag.getBoolean(key));
+            case Tag.TAG_COMPOUND -> {
                 CompoundTag nested = tag.getCompound(key);
                 if (nested.contains("x") && nested.contains("y") && nested.contains("z")) {
-                    yield new Vec3(nested.getDouble("x"), nested.getDouble("y"), nested.getDouble("z"));
+                    builder.putObject(key, ParameterType.VEC3, new Vec3(nested.getDouble("x"), nested.getDouble("y"), nested.getDouble("z")));
+                } else if (nested.hasUUID("value")) {
+                    builder.putObject(key, ParameterType.UUID, nested.getUUID("value"));
+                } else {
+                    builder.putObject(key, null, nested.copy());
                 }
-                if (nested.hasUUID("value")) {
-                    yield nested.getUUID("value");
+            }
+            default -> builder.putObject(key, null, null);
+        }
+    }
+
+    public static class Builder {
+        private String[] keys;
+        private ParameterType[] types;
+        private long[] primitives;
+        private Object[] objects;
+        private int size;
+
+        private Builder(int expectedSize) {
+            int capacity = Math.max(expectedSize, 1);
+            this.keys = new String[capacity];
+            this.types = new ParameterType[capacity];
+            this.primitives = new long[capacity];
+            this.objects = new Object[capacity];
+        }
+
+        public Builder putInt(String key, int value) {
+            return put(key, ParameterType.INT, value, null);
+        }
+
+        public Builder putFloat(String key, float value) {
+            return put(key, ParameterType.FLOAT, Float.floatToRawIntBits(value), null);
+        }
+
+        public Builder putDouble(String key, double value) {
+            return put(key, ParameterType.DOUBLE, Double.doubleToRawLongBits(value), null);
+        }
+
+        public Builder putBoolean(String key, boolean value) {
+            return put(key, ParameterType.BOOLEAN, value ? 1 : 0, null);
+        }
+
+        /**
+         * 写入引用类型的值，type 为 STRING、VEC3、UUID，或 null 表示原始值
+         */
+        public Builder putObject(String key, @Nullable ParameterType type, @Nullable Object value) {
+            return put(key, type, 0, value);
+        }
+
+        public Builder putBoxed(String key, @Nullable Object value) {
+            if (value instanceof Integer i) {
+                return putInt(key, i);
+            } else if (value instanceof Float f) {
+                return putFloat(key, f);
+            } else if (value instanceof Double d) {
+                return putDouble(key, d);
+            } else if (value instanceof Boolean b) {
+                return putBoolean(key, b);
+            } else if (value instanceof String s) {
+                return putObject(key, ParameterType.STRING, s);
+            } else if (value instanceof Vec3 vec) {
+                return putObject(key, ParameterType.VEC3, vec);
+            } else if (value instanceof UUID uuid) {
+                return putObject(key, ParameterType.UUID, uuid);
+            } else if (value instanceof Long || value instanceof Short || value instanceof Byte) {
+                // 其余整数类型：放得进 int 的按 INT 存放，否则按 DOUBLE 存放
+                long l = ((Number) value).longValue();
+                return l == (int) l ? putInt(key, (int) l) : putDouble(key, l);
+            } else if (value instanceof Number n) {
+                return putDouble(key, n.doubleValue());
+            }
+            return putObject(key, null, value);
+        }
+
+        /**
+         * 把 source 第 index 个槽位按 target 类型归一化后写入，调用前需通过 {@link SpellParameters#isConvertible} 校验。
+         */
+        Builder putNormalized(String key, ParameterType target, SpellParameters source, int index) {
+            ParameterType from = source.types[index];
+            if (from == null) {
+                return putBoxed(key, target.normalize(source.objects[index]));
+            }
+            return switch (target) {
+                case INT -> putInt(key, source.getIntAt(index, 0));
+                case FLOAT -> putFloat(key, (float) source.getDoubleAt(index, 0));
+                case DOUBLE -> putDouble(key, source.getDoubleAt(index, 0));
+                case BOOLEAN -> putBoolean(key, from == ParameterType.BOOLEAN ? source.primitives[index] != 0 : source.getIntAt(index, 0) != 0);
+                case STRING, ENTITY_SELECTOR, DIMENSION -> putObject(key, ParameterType.STRING, from == ParameterType.STRING ? source.objects[index] : String.valueOf(source.valueAt(index)));
+                case VEC3 -> putObject(key, ParameterType.VEC3, source.objects[index]);
+                case UUID -> putObject(key, ParameterType.UUID, from == ParameterType.UUID ? source.objects[index] : UUID.fromString((String) source.objects[index]));
+            };
+        }
+
+        private Builder put(String key, @Nullable ParameterType type, long primitive, @Nullable Object object) {
+            int index = -1;
+            for (int i = 0; i < size; i++) {
+                if (keys[i].equals(key)) {
+                    index = i;
+                    break;
                 }
-                yield nested;
             }
-            default -> null;
-        };
+            if (index < 0) {
+                if (size == keys.length) {
+                    int capacity = Math.max(size * 2, 4);
+                    keys = Arrays.copyOf(keys, capacity);
+                    types = Arrays.copyOf(types, capacity);
+                    primitives = Arrays.copyOf(primitives, capacity);
+                    objects = Arrays.copyOf(objects, capacity);
+                }
+                index = size++;
+            }
+            keys[index] = key;
+            types[index] = type;
+            primitives[index] = primitive;
+            objects[index] = object;
+            return this;
+        }
+
+        /**
+         * 容量恰好用满时直接移交数组，构建后 builder 被清空，可以继续复用。
+         */
+        public SpellParameters build() {
+            SpellParameters built;
+            if (size == 0) {
+                built = empty();
+            } else if (size == keys.length) {
+                built = new SpellParameters(keys, types, primitives, objects);
+            } else {
+                built = new SpellParameters(Arrays.copyOf(keys, size), Arrays.copyOf(types, size), Arrays.copyOf(primitives, size), Arrays.copyOf(objects, size));
+            }
+            this.keys = NO_KEYS;
+            this.types = NO_TYPES;
+            this.primitives = NO_PRIMITIVES;
+            this.objects = NO_OBJECTS;
+            this.size = 0;
+            return built;
+        }
     }
 }
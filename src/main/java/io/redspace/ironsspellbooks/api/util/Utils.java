@@ -4,6 +4,7 @@ import io.redspace.ironsspellbooks.IronsSpellbooks;
 import io.redspace.ironsspellbooks.api.entity.IMagicEntity;
 import io.redspace.ironsspellbooks.api.magic.MagicData;
 import io.redspace.ironsspellbooks.api.spells.*;
+import io.redspace.ironsspellbooks.capabilities.magic.BlockDestructionScheduler;
 import io.redspace.ironsspellbooks.capabilities.magic.TargetEntityCastData;
 import io.redspace.ironsspellbooks.capabilities.magic.SpellContainer;
 import io.redspace.ironsspellbooks.capabilities.magic.UpgradeData;
@@ -13,8 +14,8 @@ import io.redspace.ironsspellbooks.config.ServerConfigs;
 import io.redspace.ironsspellbooks.damage.DamageSources;
 import io.redspace.ironsspellbooks.entity.VisualFallingBlockEntity;
 import io.redspace.ironsspellbooks.entity.mobs.AntiMagicSusceptible;
+import io.redspace.ironsspellbooks.entity.spells.ShieldIndex;
 import io.redspace.ironsspellbooks.entity.spells.shield.ShieldEntity;
-import io.redspace.ironsspellbooks.api.magic.SpellSelectionManager;
 import io.redspace.ironsspellbooks.item.CastingItem;
 import io.redspace.ironsspellbooks.item.Scroll;
 import io.redspace.ironsspellbooks.item.SpellBook;
@@ -230,7 +231,7 @@ public class Utils {
 
     public static boolean hasLineOfSight(Level level, Vec3 start, Vec3 end, boolean checkForShields) {
         if (checkForShields) {
-            List<ShieldEntity> shieldEntities = level.getEntitiesOfClass(ShieldEntity.class, new AABB(start, end));
+            List<ShieldEntity> shieldEntities = ShieldIndex.getShields(level, ShieldEntity.class, new AABB(start, end));
             if (shieldEntities.size() > 0) {
                 var shieldImpact = checkEntityIntersecting(shieldEntities.get(0), start, end, 0);
                 if (shieldImpact.getType() != HitResult.Type.MISS)
@@ -310,7 +311,7 @@ public class Utils {
     }
 
     public static boolean serverSideInitiateCast(ServerPlayer serverPlayer) {
-        var ssm = new SpellSelectionManager(serverPlayer);
+        var ssm = MagicData.getPlayerMagicData(serverPlayer).getSpellSelectionManager();
         var spellItem = ssm.getSelection();
         if (spellItem != null) {
             var spellData = ssm.getSelectedSpellData();
@@ -331,6 +332,7 @@ public class Utils {
             if (heldSpellbookStack.getItem() instanceof SpellBook spellBook) {
                 spellBook.onEquipFromUse(new SlotContext(Curios.SPELLBOOK_SLOT, serverPlayer, 0, false, true), heldSpellbookStack);
                 Utils.setPlayerSpellbookStack(serverPlayer, heldSpellbookStack.split(1));
+                MagicData.getPlayerMagicData(serverPlayer).invalidateSpellSelectionManager();
                 //serverPlayer.level.playSound(null, serverPlayer.blockPosition(), SoundRegistry.EQUIP_SPELL_BOOK.get(), SoundSource.PLAYERS, 1, 1);
             }
         }
@@ -345,7 +347,7 @@ public class Utils {
     }
 
     public static boolean serverSideInitiateQuickCast(ServerPlayer serverPlayer, int slot) {
-        var spellData = new SpellSelectionManager(serverPlayer).getSpellSlot(slot).spellData;
+        var spellData = MagicData.getPlayerMagicData(serverPlayer).getSpellSelectionManager().getSpellSlot(slot).spellData;
         if (spellData != SpellData.EMPTY) {
             var playerMagicData = MagicData.getPlayerMagicData(serverPlayer);
             if (playerMagicData.isCasting() && !playerMagicData.getCastingSpellId().equals(spellData.getSpell().getSpellId())) {
@@ -707,6 +709,10 @@ public class Utils {
 
     public static void createTremorBlock(Level level, BlockPos blockPos, float impulseStrength) {
         if (level.getBlockState(blockPos.above()).isAir() || level.getBlockState(blockPos.above().above()).isAir()) {
+            //Tremors are purely visual, so skip them once the level has spawned its share of falling blocks this tick
+            if (!BlockDestructionScheduler.tryClaimVisuals(level, level.getBlockState(blockPos.above()).isAir() ? 1 : 2)) {
+                return;
+            }
             var fallingblockentity = new VisualFallingBlockEntity(level, blockPos.getX(), blockPos.getY(), blockPos.getZ(), level.getBlockState(blockPos), 10);
             fallingblockentity.setDeltaMovement(0, impulseStrength, 0);
             level.addFreshEntity(fallingblockentity);
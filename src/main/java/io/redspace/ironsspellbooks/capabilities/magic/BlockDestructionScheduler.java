@@ -0,0 +1,176 @@
+package io.redspace.ironsspellbooks.capabilities.magic;
+
+import io.redspace.ironsspellbooks.api.util.Utils;
+import io.redspace.ironsspellbooks.entity.VisualFallingBlockEntity;
+import io.redspace.ironsspellbooks.entity.spells.spectral_hammer.SpectralHammer;
+import io.redspace.ironsspellbooks.util.ModTags;
+import it.unimi.dsi.fastutil.longs.LongList;
+import net.minecraft.core.BlockPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.Containers;
+import net.minecraft.world.SimpleContainer;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.level.Level;
+import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.event.level.BlockEvent;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Spreads spell block destruction and falling block visuals across ticks with a per level budget, so a large spectral hammer or several
+ * quakes at once cannot break hundreds of blocks or spawn hundreds of visual entities in a single tick.
+ * <br>
+ * Destruction jobs are worked through in the order they were queued, at most {@link #BLOCK_CHANGES_PER_TICK} blocks per level per tick.
+ * Visual falling blocks are cosmetic, so once a level has spawned {@link #VISUAL_BLOCKS_PER_TICK} of them in a tick further ones are skipped rather than delayed.
+ * <br>
+ * Schedulers are keyed by dimension, one map per side, and dropped with any unfinished jobs when their level unloads.
+ */
+public class BlockDestructionScheduler {
+    public static final int BLOCK_CHANGES_PER_TICK = 64;
+    public static final int VISUAL_BLOCKS_PER_TICK = 64;
+
+    private static final Map<ResourceKey<Level>, BlockDestructionScheduler> SERVER_SCHEDULERS = new HashMap<>();
+    private static final Map<ResourceKey<Level>, BlockDestructionScheduler> CLIENT_SCHEDULERS = new HashMap<>();
+
+    private final ArrayDeque<HammerJob> jobs = new ArrayDeque<>();
+    private long budgetTick = Long.MIN_VALUE;
+    private int visualsThisTick;
+
+    private static BlockDestructionScheduler of(Level level) {
+        return schedulers(level).computeIfAbsent(level.dimension(), dimension -> new BlockDestructionScheduler());
+    }
+
+    private static Map<ResourceKey<Level>, BlockDestructionScheduler> schedulers(Level level) {
+        return level.isClientSide ? CLIENT_SCHEDULERS : SERVER_SCHEDULERS;
+    }
+
+    public static void forgetLevel(Level level) {
+        schedulers(level).remove(level.dimension());
+    }
+
+    public static void clearServer() {
+        SERVER_SCHEDULERS.clear();
+    }
+
+    /**
+     * Claims room for visual falling blocks in this tick's budget
+     *
+     * @return false if the level has already spawned its share of visual blocks this tick
+     */
+    public static boolean tryClaimVisuals(Level level, int count) {
+        var scheduler = of(level);
+        scheduler.resetBudget(level);
+        if (scheduler.visualsThisTick + count > VISUAL_BLOCKS_PER_TICK) {
+            return false;
+        }
+        scheduler.visualsThisTick += count;
+        return true;
+    }
+
+    /**
+     * Queues blocks broken by a spectral hammer
+     *
+     * @param positions  packed block positions, broken in list order
+     * @param origin     the block the hammer struck
+     * @param dropPos    where the collected drops are spilled once every block is broken
+     * @param maxStacks  size of the container collecting the drops
+     */
+    public static void scheduleHammer(ServerLevel level, LongList positions, BlockPos origin, BlockPos dropPos, int radius, int maxStacks, @Nullable Player owner) {
+        if (!positions.isEmpty()) {
+            of(level).jobs.add(new HammerJob(positions, origin, dropPos, radius, new SimpleContainer(maxStacks), owner));
+        }
+    }
+
+    public static void tick(ServerLevel level) {
+        var scheduler = SERVER_SCHEDULERS.get(level.dimension());
+        if (scheduler == null || scheduler.jobs.isEmpty()) {
+            return;
+        }
+        scheduler.resetBudget(level);
+        int budget = BLOCK_CHANGES_PER_TICK;
+        while (budget > 0 && !scheduler.jobs.isEmpty()) {
+            var job = scheduler.jobs.peek();
+            budget -= job.work(level, budget);
+            if (job.isDone()) {
+                scheduler.jobs.poll();
+                Containers.dropContents(level, job.dropPos, job.drops);
+            }
+        }
+    }
+
+    private void resetBudget(Level level) {
+        if (budgetTick != level.getGameTime()) {
+            budgetTick = level.getGameTime();
+            visualsThisTick = 0;
+        }
+    }
+
+    private static class HammerJob {
+        private final LongList positions;
+        private final BlockPos origin;
+        private final BlockPos dropPos;
+        private final int radius;
+        private final SimpleContainer drops;
+        private final @Nullable Player owner;
+        private int next;
+        private int broken;
+
+        private HammerJob(LongList positions, BlockPos origin, BlockPos dropPos, int radius, SimpleContainer drops, @Nullable Player owner) {
+            this.positions = positions;
+            this.origin = origin;
+            this.dropPos = dropPos;
+            this.radius = radius;
+            this.drops = drops;
+            this.owner = owner;
+        }
+
+        private boolean isDone() {
+            return next >= positions.size();
+        }
+
+        /**
+         * @return how many positions were processed
+         */
+        private int work(ServerLevel level, int budget) {
+            int processed = 0;
+            var random = Utils.random;
+            while (processed < budget && !isDone()) {
+                var pos = BlockPos.of(positions.getLong(next++));
+                processed++;
+                var blockstate = level.getBlockState(pos);
+                //The world may have changed since the hammer collected this block
+                if (!blockstate.is(ModTags.SPECTRAL_HAMMER_MINEABLE)) {
+                    continue;
+                }
+                var distance = origin.distManhattan(pos);
+                var missChance = random.nextFloat() * 20;
+                float pct = (distance * distance) / (100.0f * this.radius);
+
+                BlockEvent.BreakEvent event = new BlockEvent.BreakEvent(level, pos, blockstate, owner);
+                MinecraftForge.EVENT_BUS.post(event);
+
+                // Handle if the event is canceled
+                if (!event.isCanceled()) {
+                    boolean spawnFallingBlock = missChance < pct && tryClaimVisuals(level, 1);
+                    if (spawnFallingBlock) {
+                        var blockstateCopy = blockstate.getBlock().defaultBlockState();//withPropertiesOf(blockstate);
+                        var fallingblockentity = new VisualFallingBlockEntity(level, pos.getX(), pos.getY(), pos.getZ(), blockstateCopy, 100, true);
+                        level.addFreshEntity(fallingblockentity);
+                    }
+                    if (++broken % 5 == 0 && !spawnFallingBlock) {
+                        level.destroyBlock(pos, false);
+                    } else {
+                        level.removeBlock(pos, false);
+                    }
+
+                    SpectralHammer.dropResources(blockstate, level, pos).forEach(drops::addItem);
+                }
+            }
+            return processed;
+        }
+    }
+}
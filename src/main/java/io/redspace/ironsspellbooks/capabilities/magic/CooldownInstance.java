@@ -1,9 +1,18 @@
 package io.redspace.ironsspellbooks.capabilities.magic;
 
+import org.jetbrains.annotations.Nullable;
+
 public class CooldownInstance {
     private int cooldownRemaining;
     private final int spellCooldown;
 
+    /**
+     * While held by a {@link PlayerCooldowns} the remaining time is derived from its clock instead of being decremented every tick
+     */
+    @Nullable PlayerCooldowns owner;
+    int spellIndex = -1;
+    int expiryTick;
+
     public CooldownInstance(int spellCooldown) {
         this.spellCooldown = spellCooldown;
         this.cooldownRemaining = spellCooldown;
@@ -15,15 +24,19 @@ public class CooldownInstance {
     }
 
     public void decrement() {
-        cooldownRemaining--;
+        decrementBy(1);
     }
 
     public void decrementBy(int amount) {
-        cooldownRemaining -= amount;
+        if (owner != null) {
+            owner.reschedule(this, expiryTick - amount);
+        } else {
+            cooldownRemaining -= amount;
+        }
     }
 
     public int getCooldownRemaining() {
-        return cooldownRemaining;
+        return owner != null ? owner.getRemaining(this) : cooldownRemaining;
     }
 
     public int getSpellCooldown() {
@@ -31,10 +44,24 @@ public class CooldownInstance {
     }
 
     public float getCooldownPercent() {
+        int cooldownRemaining = getCooldownRemaining();
         if (cooldownRemaining == 0) {
             return 0;
         }
 
         return cooldownRemaining / (float) spellCooldown;
     }
-}
\ No newline at end of file
+
+    void attach(PlayerCooldowns owner, int spellIndex, int expiryTick) {
+        this.owner = owner;
+        this.spellIndex = spellIndex;
+        this.expiryTick = expiryTick;
+    }
+
+    void detach() {
+        if (owner != null) {
+            this.cooldownRemaining = owner.getRemaining(this);
+            this.owner = null;
+        }
+    }
+}
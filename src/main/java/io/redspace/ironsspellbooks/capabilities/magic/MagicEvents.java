@@ -2,12 +2,19 @@ package io.redspace.ironsspellbooks.capabilities.magic;
 
 import io.redspace.ironsspellbooks.IronsSpellbooks;
 import io.redspace.ironsspellbooks.api.magic.MagicData;
+import io.redspace.ironsspellbooks.entity.mobs.SummonManager;
+import io.redspace.ironsspellbooks.entity.spells.ShieldIndex;
+import io.redspace.ironsspellbooks.util.EntityBroadphase;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.Entity;
+import net.minecraft.world.level.Level;
 import net.minecraftforge.common.capabilities.RegisterCapabilitiesEvent;
 import net.minecraftforge.event.AttachCapabilitiesEvent;
 import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
 
 public class MagicEvents {
 
@@ -47,5 +54,35 @@ public class MagicEvents {
         }
 
         IronsSpellbooks.MAGIC_MANAGER.tick(event.level);
+        BlockDestructionScheduler.tick((ServerLevel) event.level);
     }
-}
\ No newline at end of file
+
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase == TickEvent.Phase.END) {
+            SyncedSpellData.flushPendingSyncs();
+            PlayerRecasts.flushPendingSyncs();
+            IronsSpellbooks.MAGIC_MANAGER.syncMana(event.getServer());
+            MagicManager.flushParticles();
+        }
+    }
+
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        if (event.getLevel() instanceof Level level) {
+            ShieldIndex.forgetLevel(level);
+            EntityBroadphase.forgetLevel(level);
+            BlockDestructionScheduler.forgetLevel(level);
+        }
+        if (event.getLevel() instanceof ServerLevel serverLevel) {
+            MagicManager.forgetActivePlayers(serverLevel);
+            SummonManager.forgetLevel(serverLevel);
+        }
+    }
+
+    public static void onServerStopped(ServerStoppedEvent event) {
+        MagicManager.clearActivePlayers();
+        ShieldIndex.clearServer();
+        EntityBroadphase.clearServer();
+        BlockDestructionScheduler.clearServer();
+        SummonManager.clear();
+    }
+}
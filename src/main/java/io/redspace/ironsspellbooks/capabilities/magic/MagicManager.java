@@ -3,23 +3,29 @@ package io.redspace.ironsspellbooks.capabilities.magic;
 import io.redspace.ironsspellbooks.IronsSpellbooks;
 import io.redspace.ironsspellbooks.api.magic.IMagicManager;
 import io.redspace.ironsspellbooks.api.magic.MagicData;
-import io.redspace.ironsspellbooks.api.registry.SpellRegistry;
 import io.redspace.ironsspellbooks.config.ServerConfigs;
 import io.redspace.ironsspellbooks.item.Scroll;
-import io.redspace.ironsspellbooks.network.ClientboundSyncCooldown;
-import io.redspace.ironsspellbooks.network.ClientboundSyncMana;
+import io.redspace.ironsspellbooks.network.spell.ClientboundBatchedParticles;
 import io.redspace.ironsspellbooks.setup.Messages;
 import io.redspace.ironsspellbooks.api.spells.AbstractSpell;
 import io.redspace.ironsspellbooks.api.spells.CastSource;
 import io.redspace.ironsspellbooks.api.spells.CastType;
 import io.redspace.ironsspellbooks.api.util.Utils;
 import net.minecraft.core.particles.ParticleOptions;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.util.Mth;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.level.Level;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
 import static io.redspace.ironsspellbooks.api.registry.AttributeRegistry.*;
 
 public class MagicManager implements IMagicManager {
@@ -30,9 +36,7 @@ public class MagicManager implements IMagicManager {
         int playerMaxMana = (int) serverPlayer.getAttributeValue(MAX_MANA.get());
         var mana = playerMagicData.getMana();
         if (mana != playerMaxMana) {
-            float playerManaRegenMultiplier = (float) serverPlayer.getAttributeValue(MANA_REGEN.get());
-//            var increment = (1 + (playerMaxMana - 100) * 0.005f) * playerManaRegenMultiplier;
-            var increment = playerMaxMana * 0.01f * playerManaRegenMultiplier;
+            var increment = getManaRegenIncrement(serverPlayer);
             playerMagicData.setMana(Mth.clamp(playerMagicData.getMana() + increment, 0, playerMaxMana));
             return true;
         } else {
@@ -40,56 +44,111 @@ public class MagicManager implements IMagicManager {
         }
     }
 
+    /**
+     * @return mana gained every {@link #MANA_REGEN_TICKS} ticks while below max mana
+     */
+    public static float getManaRegenIncrement(ServerPlayer serverPlayer) {
+        int playerMaxMana = (int) serverPlayer.getAttributeValue(MAX_MANA.get());
+        float playerManaRegenMultiplier = (float) serverPlayer.getAttributeValue(MANA_REGEN.get());
+//            var increment = (1 + (playerMaxMana - 100) * 0.005f) * playerManaRegenMultiplier;
+        return playerMaxMana * 0.01f * playerManaRegenMultiplier;
+    }
 
-    public void tick(Level level) {
-        boolean doManaRegen = level.getServer().getTickCount() % MANA_REGEN_TICKS == 0;
+    /**
+     * Called once at the end of every server tick so that all mana changes made during the tick collapse into at most one packet per player
+     */
+    public void syncMana(MinecraftServer server) {
+        int tickCount = server.getTickCount();
+        for (ServerPlayer serverPlayer : server.getPlayerList().getPlayers()) {
+            MagicData.getPlayerMagicData(serverPlayer).syncManaIfChanged(tickCount);
+        }
+    }
 
-        level.players().stream().toList().forEach(player -> {
-            if (player instanceof ServerPlayer serverPlayer) {
-                MagicData playerMagicData = MagicData.getPlayerMagicData(serverPlayer);
-                playerMagicData.getPlayerCooldowns().tick(1);
-                playerMagicData.getPlayerRecasts().tick(2);
-
-                if (playerMagicData.isCasting()) {
-                    playerMagicData.handleCastDuration();
-                    var spell = SpellRegistry.getSpell(playerMagicData.getCastingSpellId());
-                    if ((spell.getCastType() == CastType.LONG && !serverPlayer.isUsingItem()) || spell.getCastType() == CastType.INSTANT) {
-                        if (playerMagicData.getCastDurationRemaining() <= 0) {
-                            spell.castSpell(serverPlayer.level, playerMagicData.getCastingSpellLevel(), serverPlayer, playerMagicData.getCastSource(), true);
-                            if (playerMagicData.getCastSource() == CastSource.SCROLL) {
-                                Scroll.attemptRemoveScrollAfterCast(serverPlayer);
-                            }
-                            spell.onServerCastComplete(serverPlayer.level, playerMagicData.getCastingSpellLevel(), serverPlayer, playerMagicData, false);
-                        }
-                    } else if (spell.getCastType() == CastType.CONTINUOUS) {
-                        if ((playerMagicData.getCastDurationRemaining() + 1) % CONTINUOUS_CAST_TICK_INTERVAL == 0) {
-                            if (playerMagicData.getCastDurationRemaining() < CONTINUOUS_CAST_TICK_INTERVAL || (playerMagicData.getCastSource().consumesMana() && playerMagicData.getMana() - spell.getManaCost(playerMagicData.getCastingSpellLevel()) * 2 < 0)) {
-                                spell.castSpell(serverPlayer.level, playerMagicData.getCastingSpellLevel(), serverPlayer, playerMagicData.getCastSource(), true);
 
-                                if (playerMagicData.getCastSource() == CastSource.SCROLL) {
-                                    Scroll.attemptRemoveScrollAfterCast(serverPlayer);
-                                }
+    /**
+     * Players with a cast, cooldown or recast in progress, by the dimension they were in when they became active.
+     * Everyone else only needs mana regen, so they are skipped by {@link #tick(Level)} outside of regen ticks.
+     * Keyed by dimension rather than level, since the players reference their level. Cleared when levels unload and when the server stops.
+     */
+    private static final Map<ResourceKey<Level>, Set<ServerPlayer>> ACTIVE_PLAYERS = new HashMap<>();
 
-                                spell.onServerCastComplete(serverPlayer.level, playerMagicData.getCastingSpellLevel(), serverPlayer, playerMagicData, false);
+    public static void trackActivePlayer(ServerPlayer serverPlayer) {
+        ACTIVE_PLAYERS.computeIfAbsent(serverPlayer.level().dimension(), dimension -> Collections.newSetFromMap(new IdentityHashMap<>())).add(serverPlayer);
+    }
 
-                            } else {
-                                spell.castSpell(serverPlayer.level, playerMagicData.getCastingSpellLevel(), serverPlayer, playerMagicData.getCastSource(), false);
-                            }
-                        }
+    static void forgetActivePlayers(Level level) {
+        ACTIVE_PLAYERS.remove(level.dimension());
+    }
+
+    static void clearActivePlayers() {
+        ACTIVE_PLAYERS.clear();
+    }
+
+    public void tick(Level level) {
+        var activePlayers = ACTIVE_PLAYERS.get(level.dimension());
+        if (activePlayers != null && !activePlayers.isEmpty()) {
+            //Ticking can mark players active again, so iterate over a copy
+            for (ServerPlayer serverPlayer : activePlayers.toArray(new ServerPlayer[0])) {
+                if (serverPlayer.isRemoved() || serverPlayer.level() != level) {
+                    activePlayers.remove(serverPlayer);
+                    if (!serverPlayer.isRemoved()) {
+                        trackActivePlayer(serverPlayer);
                     }
+                    continue;
+                }
+                MagicData playerMagicData = MagicData.getPlayerMagicData(serverPlayer);
+                tickActivePlayer(serverPlayer, playerMagicData);
+                if (!playerMagicData.isCasting() && !playerMagicData.getPlayerCooldowns().hasCooldownsActive() && !playerMagicData.getPlayerRecasts().hasRecastsActive()) {
+                    activePlayers.remove(serverPlayer);
+                }
+            }
+        }
+
+        if (level.getServer().getTickCount() % MANA_REGEN_TICKS == 0) {
+            for (Player player : level.players()) {
+                if (player instanceof ServerPlayer serverPlayer) {
+                    regenPlayerMana(serverPlayer, MagicData.getPlayerMagicData(serverPlayer));
+                }
+            }
+        }
+    }
 
-                    if (playerMagicData.isCasting()) {
-                        spell.onServerCastTick(serverPlayer.level, playerMagicData.getCastingSpellLevel(), serverPlayer, playerMagicData);
+    private void tickActivePlayer(ServerPlayer serverPlayer, MagicData playerMagicData) {
+        playerMagicData.getPlayerCooldowns().tick(1);
+        playerMagicData.getPlayerRecasts().tick(2);
+
+        if (playerMagicData.isCasting()) {
+            playerMagicData.handleCastDuration();
+            var spell = playerMagicData.getCastingAbstractSpell();
+            if ((spell.getCastType() == CastType.LONG && !serverPlayer.isUsingItem()) || spell.getCastType() == CastType.INSTANT) {
+                if (playerMagicData.getCastDurationRemaining() <= 0) {
+                    spell.castSpell(serverPlayer.level, playerMagicData.getCastingSpellLevel(), serverPlayer, playerMagicData.getCastSource(), true);
+                    if (playerMagicData.getCastSource() == CastSource.SCROLL) {
+                        Scroll.attemptRemoveScrollAfterCast(serverPlayer);
                     }
+                    spell.onServerCastComplete(serverPlayer.level, playerMagicData.getCastingSpellLevel(), serverPlayer, playerMagicData, false);
                 }
+            } else if (spell.getCastType() == CastType.CONTINUOUS) {
+                if ((playerMagicData.getCastDurationRemaining() + 1) % CONTINUOUS_CAST_TICK_INTERVAL == 0) {
+                    if (playerMagicData.getCastDurationRemaining() < CONTINUOUS_CAST_TICK_INTERVAL || (playerMagicData.getCastSource().consumesMana() && playerMagicData.getMana() - spell.getManaCost(playerMagicData.getCastingSpellLevel()) * 2 < 0)) {
+                        spell.castSpell(serverPlayer.level, playerMagicData.getCastingSpellLevel(), serverPlayer, playerMagicData.getCastSource(), true);
+
+                        if (playerMagicData.getCastSource() == CastSource.SCROLL) {
+                            Scroll.attemptRemoveScrollAfterCast(serverPlayer);
+                        }
 
-                if (doManaRegen) {
-                    if (regenPlayerMana(serverPlayer, playerMagicData)) {
-                        Messages.sendToPlayer(new ClientboundSyncMana(playerMagicData), serverPlayer);
+                        spell.onServerCastComplete(serverPlayer.level, playerMagicData.getCastingSpellLevel(), serverPlayer, playerMagicData, false);
+
+                    } else {
+                        spell.castSpell(serverPlayer.level, playerMagicData.getCastingSpellLevel(), serverPlayer, playerMagicData.getCastSource(), false);
                     }
                 }
             }
-        });
+
+            if (playerMagicData.isCasting()) {
+                spell.onServerCastTick(serverPlayer.level, playerMagicData.getCastingSpellLevel(), serverPlayer, playerMagicData);
+            }
+        }
     }
 
     public void addCooldown(ServerPlayer serverPlayer, AbstractSpell spell, CastSource castSource) {
@@ -97,8 +156,9 @@ public class MagicManager implements IMagicManager {
             return;
         int effectiveCooldown = getEffectiveSpellCooldown(spell, serverPlayer, castSource);
 
-        MagicData.getPlayerMagicData(serverPlayer).getPlayerCooldowns().addCooldown(spell, effectiveCooldown);
-        Messages.sendToPlayer(new ClientboundSyncCooldown(spell.getSpellId(), effectiveCooldown), serverPlayer);
+        var cooldowns = MagicData.getPlayerMagicData(serverPlayer).getPlayerCooldowns();
+        cooldowns.addCooldown(spell, effectiveCooldown);
+        cooldowns.syncToPlayer(serverPlayer);
     }
 
     public void clearCooldowns(ServerPlayer serverPlayer) {
@@ -116,7 +176,42 @@ public class MagicManager implements IMagicManager {
         return (int) (spell.getSpellCooldown() * (2 - Utils.softCapFormula(playerCooldownModifier)) * itemCoolDownModifer);
     }
 
+    /**
+     * Particles queued this tick, sent as one packet per receiving player at the end of the tick
+     */
+    private static final Map<ServerPlayer, ClientboundBatchedParticles> PENDING_PARTICLES = new IdentityHashMap<>();
+    private static final double PARTICLE_RANGE = 32;
+
+    /**
+     * Only players in the same level within range receive the particles. Forced particles use the server view distance instead of vanilla's flat 32 blocks.
+     */
     public static void spawnParticles(Level level, ParticleOptions particle, double x, double y, double z, int count, double deltaX, double deltaY, double deltaZ, double speed, boolean force) {
-        level.getServer().getPlayerList().getPlayers().forEach(player -> ((ServerLevel) level).sendParticles(player, particle, force, x, y, z, count, deltaX, deltaY, deltaZ, speed));
+        if (!(level instanceof ServerLevel serverLevel)) {
+            return;
+        }
+        double range = force ? Math.max(PARTICLE_RANGE, serverLevel.getServer().getPlayerList().getViewDistance() * 16) : PARTICLE_RANGE;
+        double rangeSqr = range * range;
+        ClientboundBatchedParticles.Entry entry = null;
+        for (ServerPlayer player : serverLevel.players()) {
+            if (player.distanceToSqr(x, y, z) > rangeSqr) {
+                continue;
+            }
+            if (entry == null) {
+                entry = new ClientboundBatchedParticles.Entry(particle, force, x, y, z, count, (float) deltaX, (float) deltaY, (float) deltaZ, (float) speed);
+            }
+            PENDING_PARTICLES.computeIfAbsent(player, p -> new ClientboundBatchedParticles()).add(entry);
+        }
+    }
+
+    public static void flushParticles() {
+        if (PENDING_PARTICLES.isEmpty()) {
+            return;
+        }
+        PENDING_PARTICLES.forEach((player, packet) -> {
+            if (!player.hasDisconnected()) {
+                Messages.sendToPlayer(packet, player);
+            }
+        });
+        PENDING_PARTICLES.clear();
     }
 }
@@ -1,13 +1,19 @@
 package io.redspace.ironsspellbooks.capabilities.magic;
 
-import com.google.common.collect.Maps;
+import io.redspace.ironsspellbooks.api.registry.SpellRegistry;
 import io.redspace.ironsspellbooks.api.spells.AbstractSpell;
 import io.redspace.ironsspellbooks.network.ClientboundSyncCooldowns;
 import io.redspace.ironsspellbooks.setup.Messages;
+import it.unimi.dsi.fastutil.longs.LongHeapPriorityQueue;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
 import net.minecraft.server.level.ServerPlayer;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 
 public class PlayerCooldowns {
@@ -15,15 +21,32 @@ public class PlayerCooldowns {
     public static final String SPELL_COOLDOWN = "scd";
     public static final String COOLDOWN_REMAINING = "cdr";
 
-    //spell type and for how many more ticks it will be on cooldown
-    private final Map<String, CooldownInstance> spellCooldowns;
+    //indexed by SpellRegistry.getSpellIndex, null when the spell is not on cooldown
+    private CooldownInstance[] spellCooldowns = new CooldownInstance[16];
+    private int activeCooldowns = 0;
+
+    //Cooldowns store the tick they expire at instead of being decremented, so a tick only has to look at the front of the queue
+    private int clock = 0;
+    //(expiryTick << 32 | spellIndex). Entries are not removed when a cooldown is replaced or rescheduled, stale ones are skipped when they surface
+    private final LongHeapPriorityQueue expiryQueue = new LongHeapPriorityQueue();
+
+    //Spells whose cooldown changed since the last sync, other than by expiring naturally, which the client does on its own
+    private final BitSet dirty = new BitSet();
+    private boolean fullSync = true;
 
     //This is used to deal with the client and server tick's not in sync so
     // the client has a little grace period so it's remove doesn't happen before the server's
     private int tickBuffer = 0;
 
+    //This will only be null on the client side
+    private final @Nullable ServerPlayer serverPlayer;
+
     public PlayerCooldowns() {
-        this.spellCooldowns = Maps.newHashMap();
+        this.serverPlayer = null;
+    }
+
+    public PlayerCooldowns(ServerPlayer serverPlayer) {
+        this.serverPlayer = serverPlayer;
     }
 
     public void setTickBuffer(int tickBuffer) {
@@ -31,48 +54,100 @@ public class PlayerCooldowns {
     }
 
     public void tick(int actualTicks) {
-        var spells = spellCooldowns.entrySet().stream().filter(x -> decrementCooldown(x.getValue(), actualTicks)).toList();
-        spells.forEach(spell -> spellCooldowns.remove(spell.getKey()));
+        clock += actualTicks;
+        while (!expiryQueue.isEmpty()) {
+            long next = expiryQueue.firstLong();
+            if ((int) (next >> 32) - tickBuffer > clock) {
+                break;
+            }
+            expiryQueue.dequeueLong();
+            int index = (int) next;
+            var cooldown = spellCooldowns[index];
+            if (cooldown != null && cooldown.expiryTick - tickBuffer <= clock) {
+                remove(index);
+            }
+        }
     }
 
     public boolean hasCooldownsActive() {
-        return !spellCooldowns.isEmpty();
+        return activeCooldowns > 0;
     }
 
+    /**
+     * @return A snapshot of the active cooldowns by spell id. Instances stay live, so {@link #decrementCooldown} can be used on them.
+     */
     public Map<String, CooldownInstance> getSpellCooldowns() {
-        return spellCooldowns;
+        if (activeCooldowns == 0) {
+            return Collections.emptyMap();
+        }
+        Map<String, CooldownInstance> result = new HashMap<>(activeCooldowns * 2);
+        for (int i = 0; i < spellCooldowns.length; i++) {
+            if (spellCooldowns[i] != null) {
+                result.put(SpellRegistry.getSpellIdAtIndex(i), spellCooldowns[i]);
+            }
+        }
+        return Collections.unmodifiableMap(result);
     }
 
     public boolean removeCooldown(String spellId) {
-        return spellCooldowns.remove(spellId) != null;
+        int index = SpellRegistry.getSpellIndex(spellId);
+        if (index < spellCooldowns.length && spellCooldowns[index] != null) {
+            remove(index);
+            dirty.set(index);
+            return true;
+        }
+        return false;
     }
 
     public void clearCooldowns() {
-        spellCooldowns.clear();
+        for (CooldownInstance cooldown : spellCooldowns) {
+            if (cooldown != null) {
+                cooldown.detach();
+            }
+        }
+        Arrays.fill(spellCooldowns, null);
+        activeCooldowns = 0;
+        expiryQueue.clear();
+        dirty.clear();
+        fullSync = true;
+    }
+
+    /**
+     * Replaces this player's cooldowns with a copy of another's, ie when the player entity is cloned on respawn
+     */
+    public void copyFrom(PlayerCooldowns other) {
+        clearCooldowns();
+        for (int i = 0; i < other.spellCooldowns.length; i++) {
+            var cooldown = other.spellCooldowns[i];
+            if (cooldown != null) {
+                put(i, new CooldownInstance(cooldown.getSpellCooldown(), cooldown.getCooldownRemaining()));
+            }
+        }
     }
 
     public void addCooldown(AbstractSpell spell, int durationTicks) {
-        spellCooldowns.put(spell.getSpellId(), new CooldownInstance(durationTicks));
+        addCooldown(spell.getSpellId(), durationTicks, durationTicks);
     }
 
     public void addCooldown(AbstractSpell spell, int durationTicks, int remaining) {
-        spellCooldowns.put(spell.getSpellId(), new CooldownInstance(durationTicks, remaining));
+        addCooldown(spell.getSpellId(), durationTicks, remaining);
     }
 
     public void addCooldown(String spellID, int durationTicks) {
-        spellCooldowns.put(spellID, new CooldownInstance(durationTicks));
+        addCooldown(spellID, durationTicks, durationTicks);
     }
 
     public void addCooldown(String spellID, int durationTicks, int remaining) {
-        spellCooldowns.put(spellID, new CooldownInstance(durationTicks, remaining));
+        put(SpellRegistry.getSpellIndex(spellID), new CooldownInstance(durationTicks, remaining));
     }
 
     public boolean isOnCooldown(AbstractSpell spell) {
-        return spellCooldowns.containsKey(spell.getSpellId());
+        return get(spell) != null;
     }
 
     public float getCooldownPercent(AbstractSpell spell) {
-        return spellCooldowns.getOrDefault(spell.getSpellId(), new CooldownInstance(0)).getCooldownPercent();
+        var cooldown = get(spell);
+        return cooldown == null ? 0 : cooldown.getCooldownPercent();
     }
 
     public boolean decrementCooldown(CooldownInstance c, int amount) {
@@ -80,13 +155,70 @@ public class PlayerCooldowns {
         return c.getCooldownRemaining() <= tickBuffer;
     }
 
+    /**
+     * Sends the cooldowns that changed since the last sync, or all of them if they were cleared or never synced
+     */
     public void syncToPlayer(ServerPlayer serverPlayer) {
-        Messages.sendToPlayer(new ClientboundSyncCooldowns(this.spellCooldowns), serverPlayer);
+        if (!fullSync && dirty.isEmpty()) {
+            return;
+        }
+        Map<String, CooldownInstance> changes = new HashMap<>();
+        if (fullSync) {
+            changes.putAll(getSpellCooldowns());
+        } else {
+            for (int i = dirty.nextSetBit(0); i >= 0; i = dirty.nextSetBit(i + 1)) {
+                var cooldown = i < spellCooldowns.length ? spellCooldowns[i] : null;
+                //A cooldown with no time remaining tells the client to remove it
+                changes.put(SpellRegistry.getSpellIdAtIndex(i), cooldown == null ? new CooldownInstance(0, 0) : cooldown);
+            }
+        }
+        Messages.sendToPlayer(new ClientboundSyncCooldowns(changes, fullSync), serverPlayer);
+        dirty.clear();
+        fullSync = false;
+    }
+
+    int getRemaining(CooldownInstance cooldown) {
+        return cooldown.expiryTick - clock;
+    }
+
+    void reschedule(CooldownInstance cooldown, int expiryTick) {
+        cooldown.expiryTick = expiryTick;
+        expiryQueue.enqueue(((long) expiryTick << 32) | cooldown.spellIndex);
+        dirty.set(cooldown.spellIndex);
+    }
+
+    private CooldownInstance get(AbstractSpell spell) {
+        int index = SpellRegistry.getSpellIndex(spell.getSpellId());
+        return index < spellCooldowns.length ? spellCooldowns[index] : null;
+    }
+
+    private void put(int index, CooldownInstance cooldown) {
+        if (index >= spellCooldowns.length) {
+            spellCooldowns = Arrays.copyOf(spellCooldowns, Math.max(index + 1, spellCooldowns.length * 2));
+        }
+        var previous = spellCooldowns[index];
+        if (previous != null) {
+            previous.detach();
+        } else {
+            activeCooldowns++;
+        }
+        spellCooldowns[index] = cooldown;
+        cooldown.attach(this, index, clock + cooldown.getCooldownRemaining());
+        reschedule(cooldown, cooldown.expiryTick);
+        if (serverPlayer != null) {
+            MagicManager.trackActivePlayer(serverPlayer);
+        }
+    }
+
+    private void remove(int index) {
+        spellCooldowns[index].detach();
+        spellCooldowns[index] = null;
+        activeCooldowns--;
     }
 
     public ListTag saveNBTData() {
         var listTag = new ListTag();
-        spellCooldowns.forEach((spellId, cooldown) -> {
+        getSpellCooldowns().forEach((spellId, cooldown) -> {
             if (cooldown.getCooldownRemaining() > 0) {
                 CompoundTag ct = new CompoundTag();
                 ct.putString(SPELL_ID, spellId);
@@ -105,7 +237,7 @@ public class PlayerCooldowns {
                 String spellId = t.getString(SPELL_ID);
                 int spellCooldown = t.getInt(SPELL_COOLDOWN);
                 int cooldownRemaining = t.getInt(COOLDOWN_REMAINING);
-                spellCooldowns.put(spellId, new CooldownInstance(spellCooldown, cooldownRemaining));
+                addCooldown(spellId, spellCooldown, cooldownRemaining);
             });
         }
     }
@@ -1,53 +1,72 @@
 package io.redspace.ironsspellbooks.capabilities.magic;
 
-import com.google.common.collect.Maps;
 import io.redspace.ironsspellbooks.IronsSpellbooks;
 import io.redspace.ironsspellbooks.api.magic.MagicData;
 import io.redspace.ironsspellbooks.api.registry.SpellRegistry;
 import io.redspace.ironsspellbooks.api.spells.AbstractSpell;
-import io.redspace.ironsspellbooks.api.spells.CastSource;
-import io.redspace.ironsspellbooks.network.ClientBoundRemoveRecast;
-import io.redspace.ironsspellbooks.network.ClientBoundSyncRecast;
 import io.redspace.ironsspellbooks.network.ClientboundSyncRecasts;
 import io.redspace.ironsspellbooks.setup.Messages;
+import it.unimi.dsi.fastutil.longs.LongHeapPriorityQueue;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.api.distmarker.OnlyIn;
-
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public class PlayerRecasts {
-    private static final RecastInstance EMPTY = new RecastInstance(SpellRegistry.none().getSpellId(), 0, 0, 0, CastSource.NONE, null);
-    private final Map<String, RecastInstance> recastLookup;
+    /**
+     * Server side instances with unsent changes. Flushed once at the end of every server tick by {@link #flushPendingSyncs()}
+     */
+    private static final Set<PlayerRecasts> PENDING_SYNC = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    //indexed by SpellRegistry.getSpellIndex, null when the spell has no recast
+    private RecastInstance[] recasts = new RecastInstance[8];
+    private int recastCount = 0;
+    //Active recasts in index order, rebuilt lazily after anything changes which recasts are active
+    private @Nullable List<RecastInstance> activeRecasts = List.of();
+
+    //Recasts store the tick they expire at instead of being decremented, so a tick only has to look at the front of the queue
+    int clock = 0;
+    //(expiryTick << 32 | spellIndex). Entries are not removed when a recast is replaced or refreshed, stale ones are skipped when they surface
+    private final LongHeapPriorityQueue expiryQueue = new LongHeapPriorityQueue();
+
+    private final BitSet dirty = new BitSet();
+    private boolean fullSync = false;
 
     //This will only be null on the client side
     private final ServerPlayer serverPlayer;
 
     public PlayerRecasts() {
-        this.recastLookup = Maps.newHashMap();
         this.serverPlayer = null;
     }
 
     public PlayerRecasts(ServerPlayer serverPlayer) {
-        this.recastLookup = Maps.newHashMap();
         this.serverPlayer = serverPlayer;
     }
 
     @OnlyIn(Dist.CLIENT)
     public PlayerRecasts(Map<String, RecastInstance> recastLookup) {
-        this.recastLookup = recastLookup;
         this.serverPlayer = null;
+        recastLookup.values().forEach(this::put);
     }
 
     public boolean addRecast(RecastInstance recastInstance, MagicData magicData) {
-        var existingRecastInstance = recastLookup.get(recastInstance.spellId);
+        var existingRecastInstance = getRecastInstance(recastInstance.spellId);
 
         if (!isRecastActive(existingRecastInstance)) {
             magicData.getPlayerCooldowns().removeCooldown(recastInstance.spellId);
-            recastLookup.put(recastInstance.spellId, recastInstance);
+            put(recastInstance);
             syncToPlayer(recastInstance);
             return true;
         }
@@ -56,40 +75,42 @@ public class PlayerRecasts {
     }
 
     public boolean isRecastActive(RecastInstance recastInstance) {
-        return recastInstance != null && recastInstance.remainingRecasts > 0 && recastInstance.remainingTicks > 0;
+        return recastInstance != null && recastInstance.remainingRecasts > 0 && recastInstance.getTicksRemaining() > 0;
     }
 
     @OnlyIn(Dist.CLIENT)
     public void removeRecast(String spellId) {
-        recastLookup.remove(spellId);
+        remove(SpellRegistry.getSpellIndex(spellId));
     }
 
     @OnlyIn(Dist.CLIENT)
     public void forceAddRecast(RecastInstance recastInstance) {
-        recastLookup.put(recastInstance.spellId, recastInstance);
+        put(recastInstance);
     }
 
     @OnlyIn(Dist.CLIENT)
     public void tickRecasts() {
-        if (!recastLookup.isEmpty()) {
-            recastLookup.values().stream().toList().forEach(x -> x.remainingTicks--);
+        //The client only hides expired recasts, the server removes them
+        clock++;
+        if (pollExpired() != null) {
+            activeRecasts = null;
         }
     }
 
     public boolean hasRecastsActive() {
-        return !recastLookup.isEmpty();
+        return recastCount > 0;
     }
 
     public boolean hasRecastForSpell(AbstractSpell spell) {
-        return isRecastActive(recastLookup.get(spell.getSpellId()));
+        return isRecastActive(getRecastInstance(spell.getSpellId()));
     }
 
     public boolean hasRecastForSpell(String spellId) {
-        return isRecastActive(recastLookup.get(spellId));
+        return isRecastActive(getRecastInstance(spellId));
     }
 
     public int getRemainingRecastsForSpell(String spellId) {
-        var recastInstance = recastLookup.getOrDefault(spellId, EMPTY);
+        var recastInstance = getRecastInstance(spellId);
 
         if (isRecastActive(recastInstance)) {
             return recastInstance.remainingRecasts;
@@ -103,26 +124,51 @@ public class PlayerRecasts {
     }
 
     public RecastInstance getRecastInstance(String spellId) {
-        return recastLookup.get(spellId);
+        int index = SpellRegistry.getSpellIndex(spellId);
+        return index < recasts.length ? recasts[index] : null;
     }
 
+    /**
+     * @return A snapshot of every held recast, safe to remove recasts while iterating
+     */
     public List<RecastInstance> getAllRecasts() {
-        return recastLookup.values().stream().toList();
+        if (recastCount == 0) {
+            return List.of();
+        }
+        var result = new ArrayList<RecastInstance>(recastCount);
+        for (RecastInstance recastInstance : recasts) {
+            if (recastInstance != null) {
+                result.add(recastInstance);
+            }
+        }
+        return result;
     }
 
+    /**
+     * @return An unmodifiable view of the active recasts. The same list is returned until the active recasts change
+     */
     public List<RecastInstance> getActiveRecasts() {
-        return recastLookup.values().stream().filter(this::isRecastActive).toList();
+        if (activeRecasts == null) {
+            var result = new ArrayList<RecastInstance>(recastCount);
+            for (RecastInstance recastInstance : recasts) {
+                if (isRecastActive(recastInstance)) {
+                    result.add(recastInstance);
+                }
+            }
+            activeRecasts = Collections.unmodifiableList(result);
+        }
+        return activeRecasts;
     }
 
     public void decrementRecastCount(String spellId) {
         //IronsSpellbooks.LOGGER.debug("PlayerRecasts: {} {}", serverPlayer, spellId);
-        var recastInstance = recastLookup.get(spellId);
+        var recastInstance = getRecastInstance(spellId);
 
         if (isRecastActive(recastInstance)) {
             recastInstance.remainingRecasts--;
 
             if (recastInstance.remainingRecasts > 0) {
-                recastInstance.remainingTicks = recastInstance.ticksToLive;
+                schedule(recastInstance, clock + recastInstance.ticksToLive);
                 syncToPlayer(recastInstance);
             } else {
                 removeRecast(recastInstance, RecastResult.USED_ALL_RECASTS);
@@ -138,19 +184,61 @@ public class PlayerRecasts {
 
     public void syncAllToPlayer() {
         if (serverPlayer != null) {
-            Messages.sendToPlayer(new ClientboundSyncRecasts(recastLookup), serverPlayer);
+            fullSync = true;
+            PENDING_SYNC.add(this);
         }
     }
 
     public void syncToPlayer(RecastInstance recastInstance) {
-        if (serverPlayer != null) {
-            Messages.sendToPlayer(new ClientBoundSyncRecast(recastInstance), serverPlayer);
-        }
+        markDirty(SpellRegistry.getSpellIndex(recastInstance.spellId));
     }
 
     public void syncRemoveToPlayer(String spellId) {
+        markDirty(SpellRegistry.getSpellIndex(spellId));
+    }
+
+    private void markDirty(int index) {
         if (serverPlayer != null) {
-            Messages.sendToPlayer(new ClientBoundRemoveRecast(spellId), serverPlayer);
+            dirty.set(index);
+            PENDING_SYNC.add(this);
+        }
+    }
+
+    /**
+     * Sends every recast change made since the last flush as a single packet
+     */
+    public void flushSync() {
+        PENDING_SYNC.remove(this);
+        if (serverPlayer == null || (!fullSync && dirty.isEmpty())) {
+            return;
+        }
+        if (fullSync) {
+            Messages.sendToPlayer(new ClientboundSyncRecasts(toMap()), serverPlayer);
+        } else {
+            Map<String, RecastInstance> updated = new HashMap<>();
+            List<String> removed = new ArrayList<>();
+            for (int i = dirty.nextSetBit(0); i >= 0; i = dirty.nextSetBit(i + 1)) {
+                var recastInstance = i < recasts.length ? recasts[i] : null;
+                if (recastInstance != null) {
+                    updated.put(recastInstance.spellId, recastInstance);
+                } else {
+                    removed.add(SpellRegistry.getSpellIdAtIndex(i));
+                }
+            }
+            Messages.sendToPlayer(new ClientboundSyncRecasts(updated, removed), serverPlayer);
+        }
+        dirty.clear();
+        fullSync = false;
+    }
+
+    public static void flushPendingSyncs() {
+        if (PENDING_SYNC.isEmpty()) {
+            return;
+        }
+        var pending = new ArrayList<>(PENDING_SYNC);
+        PENDING_SYNC.clear();
+        for (PlayerRecasts playerRecasts : pending) {
+            playerRecasts.flushSync();
         }
     }
 
@@ -159,7 +247,7 @@ public class PlayerRecasts {
     }
 
     private void removeRecast(RecastInstance recastInstance, RecastResult recastResult, boolean doSync) {
-        recastLookup.remove(recastInstance.spellId);
+        remove(SpellRegistry.getSpellIndex(recastInstance.spellId));
         if (doSync) {
             syncRemoveToPlayer(recastInstance.spellId);
         }
@@ -171,17 +259,13 @@ public class PlayerRecasts {
     }
 
     public void removeAll(RecastResult recastResult) {
-        recastLookup.values().stream().toList().forEach(recastInstance -> removeRecast(recastInstance, recastResult, false));
+        getAllRecasts().forEach(recastInstance -> removeRecast(recastInstance, recastResult, false));
         syncAllToPlayer();
     }
 
     public ListTag saveNBTData() {
         var listTag = new ListTag();
-        recastLookup.values().stream().filter(this::isRecastActive).forEach(recastInstance -> {
-            if (recastInstance.remainingRecasts > 0 && recastInstance.remainingTicks > 0) {
-                listTag.add(recastInstance.serializeNBT());
-            }
-        });
+        getActiveRecasts().forEach(recastInstance -> listTag.add(recastInstance.serializeNBT()));
         return listTag;
     }
 
@@ -191,7 +275,7 @@ public class PlayerRecasts {
                 var recastInstance = new RecastInstance();
                 recastInstance.deserializeNBT((CompoundTag) tag);
                 if (recastInstance.remainingRecasts > 0 && recastInstance.remainingTicks > 0) {
-                    recastLookup.put(recastInstance.spellId, recastInstance);
+                    put(recastInstance);
                 } else {
                     //cull anything leftover not removed. shouldn't get here
                     IronsSpellbooks.LOGGER.warn("Trimming recast data: {}", recastInstance);
@@ -202,22 +286,83 @@ public class PlayerRecasts {
 
     public void tick(int actualTicks) {
         if (serverPlayer != null && serverPlayer.level.getGameTime() % actualTicks == 0) {
-            recastLookup.values()
-                    .stream()
-                    .filter(r -> {
-                        r.remainingTicks -= actualTicks;
-                        return r.remainingTicks <= 0;
-                    })
-                    .toList()
-                    .forEach(recastInstance -> removeRecast(recastInstance, RecastResult.TIMEOUT));
+            clock += actualTicks;
+            RecastInstance expired;
+            while ((expired = pollExpired()) != null) {
+                removeRecast(expired, RecastResult.TIMEOUT);
+            }
+        }
+    }
+
+    /**
+     * @return the next recast whose time has run out, or null if none are due
+     */
+    private @Nullable RecastInstance pollExpired() {
+        while (!expiryQueue.isEmpty()) {
+            long next = expiryQueue.firstLong();
+            if ((int) (next >> 32) > clock) {
+                return null;
+            }
+            expiryQueue.dequeueLong();
+            int index = (int) next;
+            var recastInstance = recasts[index];
+            if (recastInstance != null && recastInstance.expiryTick <= clock) {
+                return recastInstance;
+            }
+        }
+        return null;
+    }
+
+    private void put(RecastInstance recastInstance) {
+        int index = SpellRegistry.getSpellIndex(recastInstance.spellId);
+        if (index >= recasts.length) {
+            recasts = Arrays.copyOf(recasts, Math.max(index + 1, recasts.length * 2));
+        }
+        var previous = recasts[index];
+        if (previous != null) {
+            previous.detach();
+        } else {
+            recastCount++;
+        }
+        recastInstance.detach();
+        recasts[index] = recastInstance;
+        recastInstance.attach(this, index, clock);
+        schedule(recastInstance, clock + recastInstance.remainingTicks);
+        if (serverPlayer != null) {
+            MagicManager.trackActivePlayer(serverPlayer);
+        }
+    }
+
+    private void remove(int index) {
+        if (index < recasts.length && recasts[index] != null) {
+            recasts[index].detach();
+            recasts[index] = null;
+            recastCount--;
+            activeRecasts = null;
+        }
+    }
+
+    private void schedule(RecastInstance recastInstance, int expiryTick) {
+        recastInstance.expiryTick = expiryTick;
+        expiryQueue.enqueue(((long) expiryTick << 32) | recastInstance.spellIndex);
+        activeRecasts = null;
+    }
+
+    private Map<String, RecastInstance> toMap() {
+        Map<String, RecastInstance> result = new HashMap<>(recastCount * 2);
+        for (RecastInstance recastInstance : recasts) {
+            if (recastInstance != null) {
+                result.put(recastInstance.spellId, recastInstance);
+            }
         }
+        return result;
     }
 
     @Override
     public String toString() {
         var sb = new StringBuilder();
 
-        recastLookup.values().forEach(recastInstance -> {
+        getAllRecasts().forEach(recastInstance -> {
             sb.append(recastInstance.toString());
             sb.append("\n");
         });
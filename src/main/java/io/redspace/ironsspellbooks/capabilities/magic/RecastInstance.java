@@ -7,6 +7,7 @@ import io.redspace.ironsspellbooks.api.spells.ICastDataSerializable;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraftforge.common.util.INBTSerializable;
+import org.jetbrains.annotations.Nullable;
 
 public class RecastInstance implements ISerializable, INBTSerializable<CompoundTag> {
     protected String spellId;
@@ -18,6 +19,11 @@ public class RecastInstance implements ISerializable, INBTSerializable<CompoundT
     protected int remainingTicks;
     protected CastSource castSource;
 
+    //While held by a PlayerRecasts the remaining ticks are derived from its clock instead of being decremented every tick
+    @Nullable PlayerRecasts owner;
+    int spellIndex = -1;
+    int expiryTick;
+
     public RecastInstance() {
     }
 
@@ -53,7 +59,20 @@ public class RecastInstance implements ISerializable, INBTSerializable<CompoundT
     }
 
     public int getTicksRemaining() {
-        return remainingTicks;
+        return owner != null ? expiryTick - owner.clock : remainingTicks;
+    }
+
+    void attach(PlayerRecasts owner, int spellIndex, int expiryTick) {
+        this.owner = owner;
+        this.spellIndex = spellIndex;
+        this.expiryTick = expiryTick;
+    }
+
+    void detach() {
+        if (owner != null) {
+            this.remainingTicks = getTicksRemaining();
+            this.owner = null;
+        }
     }
 
     public CastSource getCastSource() {
@@ -66,12 +85,12 @@ public class RecastInstance implements ISerializable, INBTSerializable<CompoundT
 
     @Override
     public void writeToBuffer(FriendlyByteBuf buffer) {
-        buffer.writeUtf(spellId);
+        SpellRegistry.writeSpellId(buffer, spellId);
         buffer.writeInt(spellLevel);
         buffer.writeInt(remainingRecasts);
         buffer.writeInt(totalRecasts);
         buffer.writeInt(ticksToLive);
-        buffer.writeInt(remainingTicks);
+        buffer.writeInt(getTicksRemaining());
         buffer.writeEnum(castSource);
 
         if (castData != null) {
@@ -84,7 +103,7 @@ public class RecastInstance implements ISerializable, INBTSerializable<CompoundT
 
     @Override
     public void readFromBuffer(FriendlyByteBuf buffer) {
-        spellId = buffer.readUtf();
+        spellId = SpellRegistry.readSpellId(buffer);
         spellLevel = buffer.readInt();
         remainingRecasts = buffer.readInt();
         totalRecasts = buffer.readInt();
@@ -108,7 +127,7 @@ public class RecastInstance implements ISerializable, INBTSerializable<CompoundT
         tag.putInt("remainingRecasts", remainingRecasts);
         tag.putInt("totalRecasts", totalRecasts);
         tag.putInt("ticksToLive", ticksToLive);
-        tag.putInt("ticksRemaining", remainingTicks);
+        tag.putInt("ticksRemaining", getTicksRemaining());
         tag.putString("castSource", castSource.toString());
 
         if (castData != null) {
@@ -138,6 +157,6 @@ public class RecastInstance implements ISerializable, INBTSerializable<CompoundT
     @Override
     public String toString() {
         var cd = castData == null ? "" : castData.serializeNBT().toString();
-        return String.format("spellId:%s, spellLevel:%d, remainingRecasts:%d, totalRecasts:%d, ticksToLive:%d, ticksRemaining:%d, castData:%s", spellId, spellLevel, remainingRecasts, totalRecasts, ticksToLive, remainingTicks, cd);
+        return String.format("spellId:%s, spellLevel:%d, remainingRecasts:%d, totalRecasts:%d, ticksToLive:%d, ticksRemaining:%d, castData:%s", spellId, spellLevel, remainingRecasts, totalRecasts, ticksToLive, getTicksRemaining(), cd);
     }
 }
@@ -1,5 +1,7 @@
 package io.redspace.ironsspellbooks.capabilities.magic;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import io.redspace.ironsspellbooks.api.registry.SpellRegistry;
 import io.redspace.ironsspellbooks.api.spells.*;
 import io.redspace.ironsspellbooks.item.Scroll;
@@ -30,6 +32,16 @@ public class SpellContainer implements ISpellContainer {
     public static final String SPELL_LEVEL = "level";
     public static final String SPELL_LOCKED = "locked";
 
+    /**
+     * Decoded containers keyed by the identity of the stack's container tag. {@link #save} always writes a fresh tag,
+     * but commands and other mods can edit a tag in place, so each entry also remembers the tag's hash when it was decoded.
+     * Entries go away with the tag.
+     */
+    private static final Cache<CompoundTag, Decoded> DECODED_CACHE = CacheBuilder.newBuilder().weakKeys().build();
+
+    private record Decoded(int tagHash, SpellContainer container) {
+    }
+
     private SpellData[] slots;
     private int maxSpells = 0;
     private int activeSlots = 0;
@@ -56,6 +68,35 @@ public class SpellContainer implements ISpellContainer {
         }
     }
 
+    private SpellContainer(SpellContainer other) {
+        this.slots = other.slots == null ? null : other.slots.clone();
+        this.maxSpells = other.maxSpells;
+        this.activeSlots = other.activeSlots;
+        this.spellWheel = other.spellWheel;
+        this.mustEquip = other.mustEquip;
+    }
+
+    /**
+     * Returns a private copy of the cached decoded container for this stack, only decoding the nbt when the tag was replaced or its contents changed since the last call.
+     * Mutations to the returned container are not visible to other callers until they are written back through {@link #save}.
+     */
+    public static SpellContainer fromItemStack(ItemStack itemStack) {
+        CompoundTag tag = itemStack.getTagElement(SPELL_SLOT_CONTAINER);
+        if (tag == null) {
+            //Legacy conversion writes a new tag, which will be cached on the next lookup
+            return new SpellContainer(itemStack);
+        }
+        int tagHash = tag.hashCode();
+        Decoded decoded = DECODED_CACHE.getIfPresent(tag);
+        if (decoded == null || decoded.tagHash() != tagHash) {
+            var container = new SpellContainer();
+            container.deserializeNBT(tag);
+            decoded = new Decoded(tagHash, container);
+            DECODED_CACHE.put(tag, decoded);
+        }
+        return new SpellContainer(decoded.container());
+    }
+
     @Override
     public int getMaxSpellCount() {
         return maxSpells;
@@ -82,7 +123,9 @@ public class SpellContainer implements ISpellContainer {
     @Override
     public void save(ItemStack stack) {
         if (stack != null) {
-            stack.addTagElement(SPELL_SLOT_CONTAINER, this.serializeNBT());
+            CompoundTag tag = this.serializeNBT();
+            stack.addTagElement(SPELL_SLOT_CONTAINER, tag);
+            DECODED_CACHE.put(tag, new Decoded(tag.hashCode(), new SpellContainer(this)));
         }
     }
 
@@ -1,5 +1,6 @@
 package io.redspace.ironsspellbooks.capabilities.magic;
 
+import io.redspace.ironsspellbooks.api.registry.SpellRegistry;
 import io.redspace.ironsspellbooks.IronsSpellbooks;
 import io.redspace.ironsspellbooks.api.entity.IMagicEntity;
 import io.redspace.ironsspellbooks.api.magic.LearnedSpellData;
@@ -17,6 +18,11 @@ import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.LivingEntity;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
 public class SyncedSpellData {
     //syncedEffectFlags
     public static final long ANGEL_WINGS = 1;
@@ -31,6 +37,21 @@ public class SyncedSpellData {
     //localEffectFlags
     public static final long HEAL_TARGET = 1;
 
+    //Dirty field groups, written as a bitmask at the front of every sync packet
+    public static final int SYNC_CASTING = 1;
+    public static final int SYNC_EFFECTS = 2;
+    public static final int SYNC_HEARTSTOP = 4;
+    public static final int SYNC_EVASION = 8;
+    public static final int SYNC_SPIN_ATTACK = 16;
+    public static final int SYNC_LEARNED_SPELLS = 32;
+    public static final int SYNC_SPELL_SELECTION = 64;
+    public static final int SYNC_ALL = 127;
+
+    /**
+     * Server side instances with unsent changes. Flushed once at the end of every server tick by {@link #flushPendingSyncs()}
+     */
+    private static final Set<SyncedSpellData> PENDING_SYNC = Collections.newSetFromMap(new IdentityHashMap<>());
+
     //TODO: may want to switch this to ServerPlayer.UUID
     private final int serverPlayerId;
     private @Nullable LivingEntity livingEntity;
@@ -47,6 +68,7 @@ public class SyncedSpellData {
     private SpellSelection spellSelection;
 
     private String castingEquipmentSlot;
+    private int dirtyFields;
 
     //Use this on the client
     public SyncedSpellData(int serverPlayerId) {
@@ -75,7 +97,7 @@ public class SyncedSpellData {
         public void write(FriendlyByteBuf buffer, SyncedSpellData data) {
             buffer.writeInt(data.serverPlayerId);
             buffer.writeBoolean(data.isCasting);
-            buffer.writeUtf(data.castingSpellId);
+            SpellRegistry.writeSpellId(buffer, data.castingSpellId);
             buffer.writeInt(data.castingSpellLevel);
             buffer.writeLong(data.syncedEffectFlags);
             buffer.writeFloat(data.heartStopAccumulatedDamage);
@@ -89,7 +111,7 @@ public class SyncedSpellData {
         public SyncedSpellData read(FriendlyByteBuf buffer) {
             var data = new SyncedSpellData(buffer.readInt());
             data.isCasting = buffer.readBoolean();
-            data.castingSpellId = buffer.readUtf();
+            data.castingSpellId = SpellRegistry.readSpellId(buffer);
             data.castingSpellLevel = buffer.readInt();
             data.syncedEffectFlags = buffer.readLong();
             data.heartStopAccumulatedDamage = buffer.readFloat();
@@ -102,6 +124,83 @@ public class SyncedSpellData {
         }
     };
 
+    /**
+     * Writes only the field groups set in {@code fields}. The receiving side must read with the same mask
+     */
+    public void writeDelta(FriendlyByteBuf buffer, int fields) {
+        if ((fields & SYNC_CASTING) != 0) {
+            buffer.writeBoolean(isCasting);
+            SpellRegistry.writeSpellId(buffer, castingSpellId);
+            buffer.writeInt(castingSpellLevel);
+            buffer.writeUtf(castingEquipmentSlot);
+        }
+        if ((fields & SYNC_EFFECTS) != 0) {
+            buffer.writeLong(syncedEffectFlags);
+        }
+        if ((fields & SYNC_HEARTSTOP) != 0) {
+            buffer.writeFloat(heartStopAccumulatedDamage);
+        }
+        if ((fields & SYNC_EVASION) != 0) {
+            buffer.writeInt(evasionHitsRemaining);
+        }
+        if ((fields & SYNC_SPIN_ATTACK) != 0) {
+            buffer.writeEnum(spinAttackType);
+        }
+        if ((fields & SYNC_LEARNED_SPELLS) != 0) {
+            learnedSpellData.writeToBuffer(buffer);
+        }
+        if ((fields & SYNC_SPELL_SELECTION) != 0) {
+            spellSelection.writeToBuffer(buffer);
+        }
+    }
+
+    public void readDelta(FriendlyByteBuf buffer, int fields) {
+        if ((fields & SYNC_CASTING) != 0) {
+            isCasting = buffer.readBoolean();
+            castingSpellId = SpellRegistry.readSpellId(buffer);
+            castingSpellLevel = buffer.readInt();
+            castingEquipmentSlot = buffer.readUtf();
+        }
+        if ((fields & SYNC_EFFECTS) != 0) {
+            syncedEffectFlags = buffer.readLong();
+        }
+        if ((fields & SYNC_HEARTSTOP) != 0) {
+            heartStopAccumulatedDamage = buffer.readFloat();
+        }
+        if ((fields & SYNC_EVASION) != 0) {
+            evasionHitsRemaining = buffer.readInt();
+        }
+        if ((fields & SYNC_SPIN_ATTACK) != 0) {
+            spinAttackType = buffer.readEnum(SpinAttackType.class);
+        }
+        if ((fields & SYNC_LEARNED_SPELLS) != 0) {
+            learnedSpellData.readFromBuffer(buffer);
+        }
+        if ((fields & SYNC_SPELL_SELECTION) != 0) {
+            spellSelection.readFromBuffer(buffer);
+        }
+    }
+
+    /**
+     * Client side. Returns a copy of this data with the given field groups taken from {@code delta}
+     */
+    public SyncedSpellData withDelta(SyncedSpellData delta, int fields) {
+        var merged = new SyncedSpellData(this.serverPlayerId);
+        var source = (fields & SYNC_CASTING) != 0 ? delta : this;
+        merged.isCasting = source.isCasting;
+        merged.castingSpellId = source.castingSpellId;
+        merged.castingSpellLevel = source.castingSpellLevel;
+        merged.castingEquipmentSlot = source.castingEquipmentSlot;
+        merged.syncedEffectFlags = ((fields & SYNC_EFFECTS) != 0 ? delta : this).syncedEffectFlags;
+        merged.heartStopAccumulatedDamage = ((fields & SYNC_HEARTSTOP) != 0 ? delta : this).heartStopAccumulatedDamage;
+        merged.evasionHitsRemaining = ((fields & SYNC_EVASION) != 0 ? delta : this).evasionHitsRemaining;
+        merged.spinAttackType = ((fields & SYNC_SPIN_ATTACK) != 0 ? delta : this).spinAttackType;
+        merged.learnedSpellData = ((fields & SYNC_LEARNED_SPELLS) != 0 ? delta : this).learnedSpellData;
+        merged.spellSelection = ((fields & SYNC_SPELL_SELECTION) != 0 ? delta : this).spellSelection;
+        merged.localEffectFlags = this.localEffectFlags;
+        return merged;
+    }
+
     public void saveNBTData(CompoundTag compound) {
         compound.putBoolean("isCasting", this.isCasting);
         compound.putString("castingSpellId", this.castingSpellId);
@@ -166,7 +265,7 @@ public class SyncedSpellData {
 
     public void setHeartstopAccumulatedDamage(float damage) {
         heartStopAccumulatedDamage = damage;
-        doSync();
+        markDirty(SYNC_HEARTSTOP);
     }
 
     public SpellSelection getSpellSelection() {
@@ -178,17 +277,17 @@ public class SyncedSpellData {
             IronsSpellbooks.LOGGER.debug("SyncedSpellData.setSpellSelection {}", spellSelection);
         }
         this.spellSelection = spellSelection;
-        doSync();
+        markDirty(SYNC_SPELL_SELECTION);
     }
 
     public void learnSpell(AbstractSpell spell) {
         this.learnedSpellData.learnedSpells.add(spell.getSpellResource());
-        doSync();
+        markDirty(SYNC_LEARNED_SPELLS);
     }
 
     public void forgetAllSpells() {
         this.learnedSpellData.learnedSpells.clear();
-        doSync();
+        markDirty(SYNC_LEARNED_SPELLS);
     }
 
     public boolean isSpellLearned(AbstractSpell spell) {
@@ -201,7 +300,7 @@ public class SyncedSpellData {
 
     public void setSpinAttackType(SpinAttackType spinAttackType) {
         this.spinAttackType = spinAttackType;
-        doSync();
+        markDirty(SYNC_SPIN_ATTACK);
     }
 
     public int getEvasionHitsRemaining() {
@@ -210,35 +309,71 @@ public class SyncedSpellData {
 
     public void subtractEvasionHit() {
         evasionHitsRemaining--;
-        doSync();
+        markDirty(SYNC_EVASION);
     }
 
     public void setEvasionHitsRemaining(int hitsRemaining) {
         evasionHitsRemaining = hitsRemaining;
-        doSync();
+        markDirty(SYNC_EVASION);
     }
 
     public void addHeartstopDamage(float damage) {
         heartStopAccumulatedDamage += damage;
-        doSync();
+        markDirty(SYNC_HEARTSTOP);
     }
 
     public void addEffects(long effectFlags) {
         this.syncedEffectFlags |= effectFlags;
-        doSync();
+        markDirty(SYNC_EFFECTS);
     }
 
     public void removeEffects(long effectFlags) {
         this.syncedEffectFlags &= ~effectFlags;
-        doSync();
+        markDirty(SYNC_EFFECTS);
     }
 
+    /**
+     * Immediately sends every field to the player and all trackers
+     */
     public void doSync() {
+        dirtyFields = SYNC_ALL;
+        flushSync();
+    }
+
+    private void markDirty(int fields) {
+        if (livingEntity == null || livingEntity.level().isClientSide) {
+            return;
+        }
+        dirtyFields |= fields;
+        PENDING_SYNC.add(this);
+    }
+
+    /**
+     * Sends the fields changed since the last flush, if any
+     */
+    public void flushSync() {
+        int fields = dirtyFields;
+        dirtyFields = 0;
+        PENDING_SYNC.remove(this);
+        if (fields == 0) {
+            return;
+        }
         if (livingEntity instanceof ServerPlayer serverPlayer) {
-            Messages.sendToPlayer(new ClientboundSyncPlayerData(this), serverPlayer);
-            Messages.sendToPlayersTrackingEntity(new ClientboundSyncPlayerData(this), serverPlayer);
+            var packet = new ClientboundSyncPlayerData(this, fields);
+            Messages.sendToPlayersTrackingEntity(packet, serverPlayer, true);
         } else if (livingEntity instanceof IMagicEntity abstractSpellCastingMob) {
-                Messages.sendToPlayersTrackingEntity(new ClientboundSyncEntityData(this, abstractSpellCastingMob), livingEntity);
+            Messages.sendToPlayersTrackingEntity(new ClientboundSyncEntityData(this, abstractSpellCastingMob, fields), livingEntity);
+        }
+    }
+
+    public static void flushPendingSyncs() {
+        if (PENDING_SYNC.isEmpty()) {
+            return;
+        }
+        var pending = new ArrayList<>(PENDING_SYNC);
+        PENDING_SYNC.clear();
+        for (SyncedSpellData data : pending) {
+            data.flushSync();
         }
     }
 
@@ -251,7 +386,9 @@ public class SyncedSpellData {
         this.castingSpellId = castingSpellId;
         this.castingSpellLevel = castingSpellLevel;
         this.castingEquipmentSlot = castingEquipmentSlot;
-        doSync();
+        //Casting state is sent immediately so clients never miss a start/finish pair that happens within one tick
+        markDirty(SYNC_CASTING);
+        flushSync();
     }
 
     public boolean isCasting() {
@@ -280,6 +417,79 @@ public class SyncedSpellData {
                 syncedEffectFlags);
     }
 
+    /**
+     * @return A data instance that ignores every write, for entities that carry no magic state of their own. See {@link io.redspace.ironsspellbooks.api.magic.MagicData#getPlayerMagicData}
+     */
+    public static SyncedSpellData readOnly() {
+        return new ReadOnly();
+    }
+
+    private static final class ReadOnly extends SyncedSpellData {
+        private ReadOnly() {
+            super(-1);
+        }
+
+        @Override
+        public void loadNBTData(CompoundTag compound) {
+        }
+
+        @Override
+        public void readDelta(FriendlyByteBuf buffer, int fields) {
+        }
+
+        @Override
+        public void addLocalEffect(long effectFlags) {
+        }
+
+        @Override
+        public void removeLocalEffect(long effectFlags) {
+        }
+
+        @Override
+        public void setHeartstopAccumulatedDamage(float damage) {
+        }
+
+        @Override
+        public void setSpellSelection(SpellSelection spellSelection) {
+        }
+
+        @Override
+        public void learnSpell(AbstractSpell spell) {
+        }
+
+        @Override
+        public void forgetAllSpells() {
+        }
+
+        @Override
+        public void setSpinAttackType(SpinAttackType spinAttackType) {
+        }
+
+        @Override
+        public void subtractEvasionHit() {
+        }
+
+        @Override
+        public void setEvasionHitsRemaining(int hitsRemaining) {
+        }
+
+        @Override
+        public void addHeartstopDamage(float damage) {
+        }
+
+        @Override
+        public void addEffects(long effectFlags) {
+        }
+
+        @Override
+        public void removeEffects(long effectFlags) {
+        }
+
+        @Override
+        public void setIsCasting(boolean isCasting, String castingSpellId, int castingSpellLevel, String castingEquipmentSlot) {
+        }
+    }
+
     /**
      * @return Retuns a copy of this SyncedSpellData, but with only data for things that should be persisted after death.
      */
@@ -9,7 +9,11 @@ import io.redspace.ironsspellbooks.api.entity.IMagicEntity;
 import io.redspace.ironsspellbooks.api.magic.MagicData;
 import io.redspace.ironsspellbooks.api.manager.SpellCastManager;
 import io.redspace.ironsspellbooks.api.registry.SpellRegistry;
+import io.redspace.ironsspellbooks.api.spells.AbstractSpell;
 import io.redspace.ironsspellbooks.api.spells.CastSource;
+import io.redspace.ironsspellbooks.api.spells.parameters.IParameterizedSpell;
+import io.redspace.ironsspellbooks.api.spells.parameters.SpellCastContext;
+import io.redspace.ironsspellbooks.api.spells.parameters.SpellParameters;
 import net.minecraft.commands.CommandFunction;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.commands.Commands;
@@ -73,7 +77,7 @@ public class CastCommand {
             } else if (target instanceof IMagicEntity castingMob) {
                 castingMob.initiateCastSpell(spell, spellLevel);
             } else if (target instanceof LivingEntity livingEntity) {
-                var magicData = MagicData.getPlayerMagicData(livingEntity);
+                var magicData = MagicData.getWritableMagicData(livingEntity);
 
                 if (!spell.checkPreCastConditions(source.getLevel(), spellLevel, livingEntity, magicData)) {
                     return 0;
@@ -97,14 +101,41 @@ public class CastCommand {
             spellId = IronsSpellbooks.MODID + ":" + spellId;
         }
 
+        AbstractSpell spell = SpellRegistry.getSpell(spellId);
+        if (spell == null || spell == SpellRegistry.none()) {
+            source.sendFailure(Component.literal("技能不存在: " + spellId));
+            return 0;
+        }
+        if (!(spell instanceof IParameterizedSpell parameterizedSpell)) {
+            source.sendFailure(Component.literal("技能 '" + spell.getSpellName() + "' 不支持参数化施法，回退默认逻辑"));
+            return castSpell(source, targets, spellId, spellLevel);
+        }
+
+        //Parse and validate once, then share the same context across every caster
+        SpellParameters params;
+        try {
+            params = SpellParameters.fromJson(jsonParams);
+        } catch (Exception e) {
+            source.sendFailure(Component.literal("JSON 解析失败: " + e.getMessage()));
+            return 0;
+        }
+        var validation = parameterizedSpell.getParameterSchema().validate(params);
+        if (!validation.success()) {
+            source.sendFailure(validation.toComponent());
+            return 0;
+        }
+        var context = SpellCastContext.of(spell, validation.normalized());
+
         int successCount = 0;
         for (Entity target : targets) {
             if (target instanceof ServerPlayer serverPlayer) {
-                if (SpellCastManager.castSpell(serverPlayer, spellId, spellLevel, jsonParams)) {
+                if (SpellCastManager.castSpell(serverPlayer, context, spellLevel)) {
+                    successCount++;
+                }
+            } else if (target instanceof LivingEntity livingEntity) {
+                if (SpellCastManager.castSpellDirect(livingEntity, context, spellLevel)) {
                     successCount++;
                 }
-            } else {
-                source.sendFailure(Component.literal("非玩家实体暂不支持参数化施法"));
             }
         }
 
@@ -115,4 +146,4 @@ public class CastCommand {
 
         return successCount;
     }
-}
\ No newline at end of file
+}
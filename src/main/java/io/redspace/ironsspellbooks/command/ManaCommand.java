@@ -4,8 +4,6 @@ import com.mojang.brigadier.CommandDispatcher;
 import com.mojang.brigadier.arguments.IntegerArgumentType;
 import com.mojang.brigadier.tree.LiteralCommandNode;
 import io.redspace.ironsspellbooks.api.magic.MagicData;
-import io.redspace.ironsspellbooks.network.ClientboundSyncMana;
-import io.redspace.ironsspellbooks.setup.Messages;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.commands.Commands;
 import net.minecraft.commands.arguments.EntityArgument;
@@ -38,7 +36,7 @@ public class ManaCommand {
             MagicData pmg = MagicData.getPlayerMagicData(serverPlayer);
             var base = set ? 0 : pmg.getMana();
             pmg.setMana(amount + base);
-            Messages.sendToPlayer(new ClientboundSyncMana(pmg), serverPlayer);
+            pmg.markManaDirty();
         }));
         String s = set ? "set" : "add";
         if (targets.size() == 1) {
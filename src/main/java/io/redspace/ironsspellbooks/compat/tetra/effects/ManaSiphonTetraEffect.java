@@ -3,8 +3,6 @@ package io.redspace.ironsspellbooks.compat.tetra.effects;
 import io.redspace.ironsspellbooks.IronsSpellbooks;
 import io.redspace.ironsspellbooks.api.magic.MagicData;
 import io.redspace.ironsspellbooks.capabilities.magic.MagicManager;
-import io.redspace.ironsspellbooks.network.ClientboundSyncMana;
-import io.redspace.ironsspellbooks.setup.Messages;
 import io.redspace.ironsspellbooks.util.ParticleHelper;
 import net.minecraft.core.particles.ParticleTypes;
 import net.minecraft.server.level.ServerPlayer;
@@ -56,7 +54,7 @@ public class ManaSiphonTetraEffect {
                     var playerMagicData = MagicData.getPlayerMagicData(player);
                     var newMana = Math.min(increment + playerMagicData.getMana(), maxMana);
                     playerMagicData.setMana(newMana);
-                    Messages.sendToPlayer(new ClientboundSyncMana(playerMagicData), player);
+                    playerMagicData.markManaDirty();
                     MagicManager.spawnParticles(victim.level, ParticleTypes.GLOW, victim.getX(), victim.getY() + victim.getBbHeight() * .5f, victim.getZ(), 10, victim.getBbWidth() * .5f, victim.getBbHeight() * .5f, victim.getBbWidth() * .5f, victim.level.getRandom().nextDouble() * .005, false);
                 }
             }
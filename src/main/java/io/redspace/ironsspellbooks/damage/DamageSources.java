@@ -16,14 +16,17 @@ import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.level.Level;
 import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.EntityLeaveLevelEvent;
 import net.minecraftforge.event.entity.living.LivingDamageEvent;
 import net.minecraftforge.event.entity.living.LivingHurtEvent;
 import net.minecraftforge.event.entity.living.LivingKnockBackEvent;
+import net.minecraftforge.event.level.LevelEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
 
 import javax.annotation.Nullable;
-import java.util.HashMap;
+import java.util.WeakHashMap;
 
 @Mod.EventBusSubscriber
 public class DamageSources {
@@ -64,26 +67,57 @@ public class DamageSources {
     }
 
     //I can't tell if this is genius or incredibly stupid
-    private static final HashMap<LivingEntity, Integer> knockbackImmunes = new HashMap<>();
+    //Game time of the hit each entity should ignore the knockback of. Weakly keyed and purged every tick, so entities whose hit never caused knockback are not kept alive
+    private static final WeakHashMap<LivingEntity, Long> knockbackImmunes = new WeakHashMap<>();
 
     public static void ignoreNextKnockback(LivingEntity livingEntity) {
         if (!livingEntity.level.isClientSide) {
-            knockbackImmunes.put(livingEntity, livingEntity.tickCount);
+            knockbackImmunes.put(livingEntity, livingEntity.level.getGameTime());
         }
     }
 
     @SubscribeEvent
     public static void cancelKnockback(LivingKnockBackEvent event) {
         //IronsSpellbooks.LOGGER.debug("DamageSources.cancelKnockback {}", event.getEntity().getName().getString());
-        if (knockbackImmunes.containsKey(event.getEntity())) {
-            var entity = event.getEntity();
-            if (entity.tickCount - knockbackImmunes.get(entity) <= 1) {
-                event.setCanceled(true);
-            }
-            knockbackImmunes.remove(entity);
+        //The map is only ever written on the server thread, so client side events must not touch it
+        if (event.getEntity().level.isClientSide || knockbackImmunes.isEmpty()) {
+            return;
+        }
+        var entity = event.getEntity();
+        var hitTime = knockbackImmunes.remove(entity);
+        if (hitTime != null && !isKnockbackImmunityExpired(entity, hitTime)) {
+            event.setCanceled(true);
         }
     }
 
+    @SubscribeEvent
+    public static void purgeKnockbackImmunes(TickEvent.ServerTickEvent event) {
+        if (event.phase == TickEvent.Phase.END && !knockbackImmunes.isEmpty()) {
+            knockbackImmunes.entrySet().removeIf(entry -> entry.getKey().isRemoved() || isKnockbackImmunityExpired(entry.getKey(), entry.getValue()));
+        }
+    }
+
+    @SubscribeEvent
+    public static void forgetKnockbackImmune(EntityLeaveLevelEvent event) {
+        if (event.getLevel().isClientSide() || knockbackImmunes.isEmpty()) {
+            return;
+        }
+        if (event.getEntity() instanceof LivingEntity livingEntity) {
+            knockbackImmunes.remove(livingEntity);
+        }
+    }
+
+    @SubscribeEvent
+    public static void forgetKnockbackImmunes(LevelEvent.Unload event) {
+        if (!event.getLevel().isClientSide() && !knockbackImmunes.isEmpty()) {
+            knockbackImmunes.keySet().removeIf(entity -> entity.level() == event.getLevel());
+        }
+    }
+
+    private static boolean isKnockbackImmunityExpired(LivingEntity entity, long hitTime) {
+        return entity.level.getGameTime() - hitTime > 1;
+    }
+
     @SubscribeEvent
     public static void preHitEffects(LivingHurtEvent event) {
         var damageSource = event.getSource();
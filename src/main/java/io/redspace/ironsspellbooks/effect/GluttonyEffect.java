@@ -1,9 +1,7 @@
 package io.redspace.ironsspellbooks.effect;
 
 import io.redspace.ironsspellbooks.api.magic.MagicData;
-import io.redspace.ironsspellbooks.network.ClientboundSyncMana;
 import io.redspace.ironsspellbooks.registries.MobEffectRegistry;
-import io.redspace.ironsspellbooks.setup.Messages;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.effect.MobEffectCategory;
 import net.minecraftforge.event.entity.living.LivingEntityUseItemEvent;
@@ -27,8 +25,8 @@ public class GluttonyEffect extends MagicMobEffect {
                 if (gluttony != null) {
                     var pmg = MagicData.getPlayerMagicData(entity);
                     pmg.addMana(food.getNutrition() * ratioForAmplifier(gluttony.getAmplifier()));
-                    if (entity instanceof ServerPlayer serverPlayer) {
-                        Messages.sendToPlayer(new ClientboundSyncMana(pmg), serverPlayer);
+                    if (entity instanceof ServerPlayer) {
+                        pmg.markManaDirty();
                     }
                 }
             }
@@ -3,8 +3,6 @@ package io.redspace.ironsspellbooks.effect;
 import io.redspace.ironsspellbooks.IronsSpellbooks;
 import io.redspace.ironsspellbooks.api.magic.MagicData;
 import io.redspace.ironsspellbooks.api.registry.AttributeRegistry;
-import io.redspace.ironsspellbooks.network.ClientboundSyncMana;
-import io.redspace.ironsspellbooks.setup.Messages;
 import net.minecraft.ChatFormatting;
 import net.minecraft.network.chat.Component;
 import net.minecraft.server.level.ServerPlayer;
@@ -45,8 +43,8 @@ public class InstantManaEffect extends CustomDescriptionMobEffect {
         MagicData pmg = MagicData.getPlayerMagicData(livingEntity);
         //IronsSpellbooks.LOGGER.debug("old mana: {}", pmg.getMana());
         pmg.setMana(pmg.getMana() + manaAdd);
-        if (livingEntity instanceof ServerPlayer serverPlayer) {
-            Messages.sendToPlayer(new ClientboundSyncMana(pmg), serverPlayer);
+        if (livingEntity instanceof ServerPlayer) {
+            pmg.markManaDirty();
         }
         //IronsSpellbooks.LOGGER.debug("new mana: {}", pmg.getMana());
 
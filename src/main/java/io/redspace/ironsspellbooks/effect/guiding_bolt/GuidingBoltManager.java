@@ -7,13 +7,16 @@ import io.redspace.ironsspellbooks.network.ClientboundGuidingBoltManagerStartTra
 import io.redspace.ironsspellbooks.network.ClientboundGuidingBoltManagerStopTracking;
 import io.redspace.ironsspellbooks.setup.Messages;
 import io.redspace.ironsspellbooks.util.MinecraftInstanceHelper;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import net.minecraft.client.Minecraft;
+import net.minecraft.core.SectionPos;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
 import net.minecraft.nbt.NbtUtils;
 import net.minecraft.nbt.Tag;
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.server.level.ServerLevel;
+import net.minecraft.util.Mth;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.projectile.Projectile;
@@ -22,11 +25,13 @@ import net.minecraft.world.level.Level;
 import net.minecraft.world.phys.HitResult;
 import net.minecraft.world.phys.Vec3;
 import net.minecraftforge.common.util.INBTSerializable;
+import net.minecraftforge.entity.PartEntity;
 import net.minecraftforge.event.TickEvent;
 import net.minecraftforge.event.entity.EntityJoinLevelEvent;
 import net.minecraftforge.event.entity.living.LivingEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
+import org.jetbrains.annotations.Nullable;
 import org.openjdk.nashorn.internal.ir.EmptyNode;
 
 import java.util.*;
@@ -38,6 +43,7 @@ public class GuidingBoltManager implements INBTSerializable<CompoundTag> {
     private final HashMap<UUID, ArrayList<Projectile>> trackedEntities = new HashMap<>();
     private final HashMap<ResourceKey<Level>, List<Projectile>> dirtyProjectiles = new HashMap<>();
     private final int tickDelay = 3;
+    private static final int SEARCH_RANGE = 48;
 
     public void startTracking(LivingEntity entity) {
         if (!entity.level.isClientSide) {
@@ -97,23 +103,21 @@ public class GuidingBoltManager implements INBTSerializable<CompoundTag> {
         if (event.level instanceof ServerLevel serverLevel) {
             HashMap<Entity, List<Projectile>> toSync = new HashMap<Entity, List<Projectile>>();
             var dirtyProjectiles = INSTANCE.dirtyProjectiles.getOrDefault(serverLevel.dimension(), List.of());
+            TargetGrid grid = null;
             for (int i = dirtyProjectiles.size() - 1; i >= 0; i--) {
                 var projectile = dirtyProjectiles.get(i);
                 if (projectile.isAddedToWorld()) {
-                    Vec3 start = projectile.position();
-                    int searchRange = 48;
-                    Vec3 end = Utils.raycastForBlock(serverLevel, start, projectile.getDeltaMovement().normalize().scale(searchRange).add(start), ClipContext.Fluid.NONE).getLocation();
-                    for (Map.Entry<UUID, ArrayList<Projectile>> entityToTrackedProjectiles : GuidingBoltManager.INSTANCE.trackedEntities.entrySet()) {
-                        var entity = serverLevel.getEntity(entityToTrackedProjectiles.getKey());
+                    if (grid == null) {
+                        //Built once per tick, however many projectiles were shot
+                        grid = new TargetGrid(serverLevel, INSTANCE.trackedEntities.keySet());
+                    }
+                    if (!grid.isEmpty()) {
+                        Vec3 start = projectile.position();
+                        Vec3 end = Utils.raycastForBlock(serverLevel, start, projectile.getDeltaMovement().normalize().scale(SEARCH_RANGE).add(start), ClipContext.Fluid.NONE).getLocation();
+                        var entity = grid.findTarget(start, end);
                         if (entity != null) {
-                            if (Math.abs(entity.getX() - projectile.getX()) > searchRange || Math.abs(entity.getY() - projectile.getY()) > searchRange || Math.abs(entity.getZ() - projectile.getZ()) > searchRange) {
-                                continue;
-                            }
-                            if (Utils.checkEntityIntersecting(entity, start, end, 3.5f + Math.min(entity.getBbWidth() * .5f, 2)).getType() == HitResult.Type.ENTITY) {
-                                updateTrackedProjectiles(entityToTrackedProjectiles.getValue(), projectile);
-                                toSync.computeIfAbsent(entity, (key) -> new ArrayList<>()).add(projectile);
-                                break;
-                            }
+                            updateTrackedProjectiles(INSTANCE.trackedEntities.get(entity.getUUID()), projectile);
+                            toSync.computeIfAbsent(entity, (key) -> new ArrayList<>()).add(projectile);
                         }
                     }
                     dirtyProjectiles.remove(i);
@@ -126,6 +130,91 @@ public class GuidingBoltManager implements INBTSerializable<CompoundTag> {
         }
     }
 
+    private static float getHitRadius(Entity entity) {
+        return 3.5f + Math.min(entity.getBbWidth() * .5f, 2);
+    }
+
+    /**
+     * Snapshot of the marked entities in a level, bucketed into chunk sections by their hit area.
+     * A projectile's path is then only tested against the entities in the sections it passes through.
+     */
+    private static class TargetGrid {
+        private final Long2ObjectOpenHashMap<List<Entity>> cells = new Long2ObjectOpenHashMap<>();
+
+        private TargetGrid(ServerLevel level, Set<UUID> trackedEntities) {
+            for (UUID uuid : trackedEntities) {
+                var entity = level.getEntity(uuid);
+                if (entity == null) {
+                    continue;
+                }
+                var bounds = entity.getBoundingBox();
+                if (entity.isMultipartEntity()) {
+                    for (PartEntity<?> part : entity.getParts()) {
+                        bounds = bounds.minmax(part.getBoundingBox());
+                    }
+                }
+                bounds = bounds.inflate(getHitRadius(entity));
+                int minX = SectionPos.blockToSectionCoord(bounds.minX), maxX = SectionPos.blockToSectionCoord(bounds.maxX);
+                int minY = SectionPos.blockToSectionCoord(bounds.minY), maxY = SectionPos.blockToSectionCoord(bounds.maxY);
+                int minZ = SectionPos.blockToSectionCoord(bounds.minZ), maxZ = SectionPos.blockToSectionCoord(bounds.maxZ);
+                for (int x = minX; x <= maxX; x++) {
+                    for (int y = minY; y <= maxY; y++) {
+                        for (int z = minZ; z <= maxZ; z++) {
+                            cells.computeIfAbsent(SectionPos.asLong(x, y, z), key -> new ArrayList<>(1)).add(entity);
+                        }
+                    }
+                }
+            }
+        }
+
+        private boolean isEmpty() {
+            return cells.isEmpty();
+        }
+
+        /**
+         * Walks the sections between start and end in order, so the first marked entity the path passes is the one picked
+         */
+        @Nullable
+        private Entity findTarget(Vec3 start, Vec3 end) {
+            int x = SectionPos.blockToSectionCoord(start.x), y = SectionPos.blockToSectionCoord(start.y), z = SectionPos.blockToSectionCoord(start.z);
+            int endX = SectionPos.blockToSectionCoord(end.x), endY = SectionPos.blockToSectionCoord(end.y), endZ = SectionPos.blockToSectionCoord(end.z);
+            double dx = end.x - start.x, dy = end.y - start.y, dz = end.z - start.z;
+            int stepX = Mth.sign(dx), stepY = Mth.sign(dy), stepZ = Mth.sign(dz);
+            //Distance along the path, as a fraction of it, to the next section border on each axis
+            double tMaxX = stepX == 0 ? Double.MAX_VALUE : (SectionPos.sectionToBlockCoord(stepX > 0 ? x + 1 : x) - start.x) / dx;
+            double tMaxY = stepY == 0 ? Double.MAX_VALUE : (SectionPos.sectionToBlockCoord(stepY > 0 ? y + 1 : y) - start.y) / dy;
+            double tMaxZ = stepZ == 0 ? Double.MAX_VALUE : (SectionPos.sectionToBlockCoord(stepZ > 0 ? z + 1 : z) - start.z) / dz;
+            double tDeltaX = stepX == 0 ? Double.MAX_VALUE : 16 / Math.abs(dx);
+            double tDeltaY = stepY == 0 ? Double.MAX_VALUE : 16 / Math.abs(dy);
+            double tDeltaZ = stepZ == 0 ? Double.MAX_VALUE : 16 / Math.abs(dz);
+            int steps = Math.abs(endX - x) + Math.abs(endY - y) + Math.abs(endZ - z);
+            Set<Entity> tested = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (int i = 0; ; i++) {
+                var cell = cells.get(SectionPos.asLong(x, y, z));
+                if (cell != null) {
+                    for (Entity entity : cell) {
+                        if (tested.add(entity) && Utils.checkEntityIntersecting(entity, start, end, getHitRadius(entity)).getType() == HitResult.Type.ENTITY) {
+                            return entity;
+                        }
+                    }
+                }
+                if (i >= steps) {
+                    return null;
+                }
+                if (tMaxX <= tMaxY && tMaxX <= tMaxZ) {
+                    x += stepX;
+                    tMaxX += tDeltaX;
+                } else if (tMaxY <= tMaxZ) {
+                    y += stepY;
+                    tMaxY += tDeltaY;
+                } else {
+                    z += stepZ;
+                    tMaxZ += tDeltaZ;
+                }
+            }
+        }
+    }
+
     private static void updateTrackedProjectiles(List<Projectile> tracked, Projectile toTrack) {
         updateTrackedProjectiles(tracked, List.of(toTrack));
     }
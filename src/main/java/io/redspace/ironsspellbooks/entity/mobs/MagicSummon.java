@@ -14,11 +14,23 @@ import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.OwnableEntity;
 import net.minecraft.world.level.GameRules;
 import net.minecraft.world.level.Level;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.UUID;
 
 public interface MagicSummon extends AntiMagicSusceptible {
 
     LivingEntity getSummoner();
 
+    /**
+     * @return the summoner's UUID, available even while the summoner is offline or in another level
+     */
+    @Nullable
+    default UUID getSummonerUUID() {
+        var summoner = getSummoner();
+        return summoner == null ? null : summoner.getUUID();
+    }
+
     void onUnSummon();
 
     @Override
@@ -53,7 +65,14 @@ public interface MagicSummon extends AntiMagicSusceptible {
         }
     }
 
+    default void onAddedHelper(LivingEntity entity) {
+        SummonManager.add(entity, getSummonerUUID());
+    }
+
     default void onRemovedHelper(Entity entity, SummonTimer timer) {
+        if (entity instanceof LivingEntity livingEntity) {
+            SummonManager.remove(livingEntity);
+        }
         /*
         Decreases player's summon timer amplifier to keep track of how many of their summons remain.
         */
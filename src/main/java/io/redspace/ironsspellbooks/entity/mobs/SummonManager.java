@@ -0,0 +1,86 @@
+package io.redspace.ironsspellbooks.entity.mobs;
+
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.level.Level;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Server side registry of the live summons of each owner, so "all of this entity's summons" is a lookup instead of an entity search.
+ * <br>
+ * Summons register through {@link MagicSummon#onAddedHelper} and leave through {@link MagicSummon#onRemovedHelper}, which covers death, discarding and chunk unloading.
+ * Entities still loaded when a level unloads or the server stops never get that callback, so those are cleared here as well.
+ */
+public class SummonManager {
+    private static final Map<UUID, Set<LivingEntity>> SUMMONS_BY_OWNER = new HashMap<>();
+    //The owner a summon was registered under, in case its summoner changes while it is in the world
+    private static final Map<LivingEntity, UUID> REGISTERED_OWNER = new IdentityHashMap<>();
+
+    static void add(LivingEntity summon, @Nullable UUID ownerUUID) {
+        if (ownerUUID == null || summon.level().isClientSide) {
+            return;
+        }
+        remove(summon);
+        REGISTERED_OWNER.put(summon, ownerUUID);
+        SUMMONS_BY_OWNER.computeIfAbsent(ownerUUID, uuid -> Collections.newSetFromMap(new IdentityHashMap<>())).add(summon);
+    }
+
+    static void remove(LivingEntity summon) {
+        var ownerUUID = REGISTERED_OWNER.remove(summon);
+        if (ownerUUID != null) {
+            var summons = SUMMONS_BY_OWNER.get(ownerUUID);
+            if (summons != null && summons.remove(summon) && summons.isEmpty()) {
+                SUMMONS_BY_OWNER.remove(ownerUUID);
+            }
+        }
+    }
+
+    public static void forgetLevel(Level level) {
+        if (REGISTERED_OWNER.isEmpty()) {
+            return;
+        }
+        for (LivingEntity summon : REGISTERED_OWNER.keySet().toArray(new LivingEntity[0])) {
+            if (summon.level() == level) {
+                remove(summon);
+            }
+        }
+    }
+
+    public static void clear() {
+        SUMMONS_BY_OWNER.clear();
+        REGISTERED_OWNER.clear();
+    }
+
+    public static boolean hasSummons(UUID ownerUUID) {
+        return SUMMONS_BY_OWNER.containsKey(ownerUUID);
+    }
+
+    /**
+     * @return the owner's summons of the given class currently in any level
+     */
+    public static <T extends LivingEntity> List<T> getSummons(UUID ownerUUID, Class<T> summonClass) {
+        var summons = SUMMONS_BY_OWNER.get(ownerUUID);
+        if (summons == null) {
+            return List.of();
+        }
+        List<T> result = new ArrayList<>(summons.size());
+        for (LivingEntity summon : summons) {
+            if (summonClass.isInstance(summon)) {
+                result.add(summonClass.cast(summon));
+            }
+        }
+        return result;
+    }
+
+    public static List<LivingEntity> getSummons(UUID ownerUUID) {
+        return getSummons(ownerUUID, LivingEntity.class);
+    }
+}
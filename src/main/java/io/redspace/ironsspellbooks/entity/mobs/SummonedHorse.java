@@ -24,6 +24,7 @@ import net.minecraft.world.level.Level;
 import net.minecraft.world.phys.Vec3;
 
 import javax.annotation.Nullable;
+import java.util.UUID;
 
 public class SummonedHorse extends AbstractHorse implements MagicSummon {
     public SummonedHorse(EntityType<? extends AbstractHorse> pEntityType, Level pLevel) {
@@ -144,7 +145,13 @@ public class SummonedHorse extends AbstractHorse implements MagicSummon {
 
     @Override
     public LivingEntity getSummoner() {
-        return OwnerHelper.getAndCacheOwner(level, cachedSummoner, getOwnerUUID());
+        this.cachedSummoner = OwnerHelper.getAndCacheOwner(level, cachedSummoner, getOwnerUUID());
+        return cachedSummoner;
+    }
+
+    @Override
+    public UUID getSummonerUUID() {
+        return getOwnerUUID();
     }
 
     public void setSummoner(@Nullable LivingEntity owner) {
@@ -160,6 +167,12 @@ public class SummonedHorse extends AbstractHorse implements MagicSummon {
         super.die(pDamageSource);
     }
 
+    @Override
+    public void onAddedToWorld() {
+        super.onAddedToWorld();
+        this.onAddedHelper(this);
+    }
+
     @Override
     public void onRemovedFromWorld() {
         this.onRemovedHelper(this, MobEffectRegistry.SUMMON_HORSE_TIMER.get());
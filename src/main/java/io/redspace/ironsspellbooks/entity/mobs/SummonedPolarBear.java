@@ -91,7 +91,13 @@ public class SummonedPolarBear extends PolarBear implements MagicSummon {
 
     @Override
     public LivingEntity getSummoner() {
-        return OwnerHelper.getAndCacheOwner(level, cachedSummoner, summonerUUID);
+        this.cachedSummoner = OwnerHelper.getAndCacheOwner(level, cachedSummoner, summonerUUID);
+        return cachedSummoner;
+    }
+
+    @Override
+    public UUID getSummonerUUID() {
+        return summonerUUID;
     }
 
     public void setSummoner(@Nullable LivingEntity owner) {
@@ -107,6 +113,12 @@ public class SummonedPolarBear extends PolarBear implements MagicSummon {
         super.die(pDamageSource);
     }
 
+    @Override
+    public void onAddedToWorld() {
+        super.onAddedToWorld();
+        this.onAddedHelper(this);
+    }
+
     @Override
     public void onRemovedFromWorld() {
         this.onRemovedHelper(this, MobEffectRegistry.POLAR_BEAR_TIMER.get());
@@ -84,7 +84,13 @@ public class SummonedSkeleton extends Skeleton implements MagicSummon, GeoAnimat
 
     @Override
     public LivingEntity getSummoner() {
-        return OwnerHelper.getAndCacheOwner(level(), cachedSummoner, summonerUUID);
+        this.cachedSummoner = OwnerHelper.getAndCacheOwner(level(), cachedSummoner, summonerUUID);
+        return cachedSummoner;
+    }
+
+    @Override
+    public UUID getSummonerUUID() {
+        return summonerUUID;
     }
 
     public void setSummoner(@Nullable LivingEntity owner) {
@@ -100,6 +106,12 @@ public class SummonedSkeleton extends Skeleton implements MagicSummon, GeoAnimat
         super.die(pDamageSource);
     }
 
+    @Override
+    public void onAddedToWorld() {
+        super.onAddedToWorld();
+        this.onAddedHelper(this);
+    }
+
     @Override
     public void onRemovedFromWorld() {
         this.onRemovedHelper(this, MobEffectRegistry.RAISE_DEAD_TIMER.get());
@@ -80,7 +80,13 @@ public class SummonedVex extends Vex implements MagicSummon {
 
     @Override
     public LivingEntity getSummoner() {
-        return OwnerHelper.getAndCacheOwner(level(), cachedSummoner, summonerUUID);
+        this.cachedSummoner = OwnerHelper.getAndCacheOwner(level(), cachedSummoner, summonerUUID);
+        return cachedSummoner;
+    }
+
+    @Override
+    public UUID getSummonerUUID() {
+        return summonerUUID;
     }
 
     public void setSummoner(@Nullable LivingEntity owner) {
@@ -96,6 +102,12 @@ public class SummonedVex extends Vex implements MagicSummon {
         super.die(pDamageSource);
     }
 
+    @Override
+    public void onAddedToWorld() {
+        super.onAddedToWorld();
+        this.onAddedHelper(this);
+    }
+
     @Override
     public void onRemovedFromWorld() {
         this.onRemovedHelper(this, MobEffectRegistry.VEX_TIMER.get());
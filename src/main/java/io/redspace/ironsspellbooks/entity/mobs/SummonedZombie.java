@@ -112,7 +112,13 @@ public class SummonedZombie extends Zombie implements MagicSummon, GeoAnimatable
 
     @Override
     public LivingEntity getSummoner() {
-        return OwnerHelper.getAndCacheOwner(level(), cachedSummoner, summonerUUID);
+        this.cachedSummoner = OwnerHelper.getAndCacheOwner(level(), cachedSummoner, summonerUUID);
+        return cachedSummoner;
+    }
+
+    @Override
+    public UUID getSummonerUUID() {
+        return summonerUUID;
     }
 
     public void setSummoner(@Nullable LivingEntity owner) {
@@ -128,6 +134,12 @@ public class SummonedZombie extends Zombie implements MagicSummon, GeoAnimatable
         super.die(pDamageSource);
     }
 
+    @Override
+    public void onAddedToWorld() {
+        super.onAddedToWorld();
+        this.onAddedHelper(this);
+    }
+
     @Override
     public void onRemovedFromWorld() {
         //IronsSpellbooks.LOGGER.debug("Summoned Zombie: Removed from world, {}", this.getRemovalReason());
@@ -77,6 +77,26 @@ public abstract class AbstractShieldEntity extends Entity implements AntiMagicSu
         kill();
     }
 
+    @Override
+    public void onAddedToWorld() {
+        super.onAddedToWorld();
+        ShieldIndex.add(this);
+    }
+
+    @Override
+    public void onRemovedFromWorld() {
+        super.onRemovedFromWorld();
+        ShieldIndex.remove(this);
+    }
+
+    @Override
+    public void setPos(double pX, double pY, double pZ) {
+        super.setPos(pX, pY, pZ);
+        if (isAddedToWorld()) {
+            ShieldIndex.move(this);
+        }
+    }
+
     @Override
     public boolean isMultipartEntity() {
         return true;
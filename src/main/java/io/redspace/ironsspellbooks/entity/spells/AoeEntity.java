@@ -2,6 +2,7 @@ package io.redspace.ironsspellbooks.entity.spells;
 
 import io.redspace.ironsspellbooks.api.entity.NoKnockbackProjectile;
 import io.redspace.ironsspellbooks.api.util.Utils;
+import io.redspace.ironsspellbooks.util.EntityBroadphase;
 import net.minecraft.core.particles.ParticleOptions;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.syncher.EntityDataAccessor;
@@ -79,7 +80,7 @@ public abstract class AoeEntity extends Projectile implements NoKnockbackProject
     protected void checkHits() {
         if (level.isClientSide)
             return;
-        List<LivingEntity> targets = this.level.getEntitiesOfClass(LivingEntity.class, this.getBoundingBox().inflate(this.getInflation().x, this.getInflation().y, this.getInflation().z));
+        List<LivingEntity> targets = EntityBroadphase.getEntitiesOfClass(level, LivingEntity.class, this.getBoundingBox().inflate(this.getInflation().x, this.getInflation().y, this.getInflation().z));
         boolean hit = false;
         var radiusSqr = getRadius();
         radiusSqr *= radiusSqr;
@@ -0,0 +1,201 @@
+package io.redspace.ironsspellbooks.entity.spells;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.SectionPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.AABB;
+import net.minecraft.world.phys.shapes.VoxelShape;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per level index of live {@link AbstractShieldEntity}s, bucketed by the chunk sections their bounding box overlaps.
+ * <br>
+ * Particles and line of sight checks query shields far more often than shields exist, so this replaces entity section lookups
+ * with a map lookup, and with nothing at all while a level has no shields.
+ * <br>
+ * The client and integrated server each only touch their own map, so neither needs locking. Indices are keyed by dimension and dropped when their level unloads.
+ */
+public class ShieldIndex {
+    private static final Map<ResourceKey<Level>, ShieldIndex> SERVER_INDICES = new HashMap<>();
+    private static final Map<ResourceKey<Level>, ShieldIndex> CLIENT_INDICES = new HashMap<>();
+
+    private final Map<AbstractShieldEntity, Entry> entries = new IdentityHashMap<>();
+    private final Long2ObjectOpenHashMap<List<Entry>> sections = new Long2ObjectOpenHashMap<>();
+
+    private static class Entry {
+        final AbstractShieldEntity shield;
+        AABB bounds;
+        long[] sectionKeys;
+        List<VoxelShape> voxels;
+        int voxelsTick = -1;
+
+        Entry(AbstractShieldEntity shield) {
+            this.shield = shield;
+        }
+
+        List<VoxelShape> getVoxels() {
+            //Shield parts are repositioned every tick, so the shapes only need rebuilding once per tick
+            if (voxelsTick != shield.tickCount) {
+                voxels = Collections.unmodifiableList(shield.getVoxels());
+                voxelsTick = shield.tickCount;
+            }
+            return voxels;
+        }
+    }
+
+    public static void add(AbstractShieldEntity shield) {
+        indices(shield.level()).computeIfAbsent(shield.level().dimension(), dimension -> new ShieldIndex()).update(shield);
+    }
+
+    public static void remove(AbstractShieldEntity shield) {
+        var index = indices(shield.level()).get(shield.level().dimension());
+        if (index != null) {
+            var entry = index.entries.remove(shield);
+            if (entry != null) {
+                index.unbucket(entry);
+            }
+        }
+    }
+
+    /**
+     * Re-buckets a shield that is already indexed, ie after it moves
+     */
+    public static void move(AbstractShieldEntity shield) {
+        var index = indices(shield.level()).get(shield.level().dimension());
+        if (index != null && index.entries.containsKey(shield)) {
+            index.update(shield);
+        }
+    }
+
+    public static void forgetLevel(Level level) {
+        indices(level).remove(level.dimension());
+    }
+
+    public static void clearServer() {
+        SERVER_INDICES.clear();
+    }
+
+    private static Map<ResourceKey<Level>, ShieldIndex> indices(Level level) {
+        return level.isClientSide ? CLIENT_INDICES : SERVER_INDICES;
+    }
+
+    public static boolean isEmpty(Level level) {
+        var index = indices(level).get(level.dimension());
+        return index == null || index.entries.isEmpty();
+    }
+
+    /**
+     * @return the collision shapes of every shield whose bounding box intersects the area
+     */
+    public static List<VoxelShape> getVoxels(Level level, AABB area) {
+        var index = indices(level).get(level.dimension());
+        if (index == null || index.entries.isEmpty()) {
+            return List.of();
+        }
+        var found = index.query(area);
+        if (found.isEmpty()) {
+            return List.of();
+        } else if (found.size() == 1) {
+            return found.get(0).getVoxels();
+        }
+        List<VoxelShape> voxels = new ArrayList<>();
+        found.forEach(entry -> voxels.addAll(entry.getVoxels()));
+        return voxels;
+    }
+
+    /**
+     * @return every shield of the given class whose bounding box intersects the area
+     */
+    public static <T extends AbstractShieldEntity> List<T> getShields(Level level, Class<T> shieldClass, AABB area) {
+        var index = indices(level).get(level.dimension());
+        if (index == null || index.entries.isEmpty()) {
+            return List.of();
+        }
+        List<T> shields = new ArrayList<>();
+        for (Entry entry : index.query(area)) {
+            if (shieldClass.isInstance(entry.shield)) {
+                shields.add(shieldClass.cast(entry.shield));
+            }
+        }
+        return shields;
+    }
+
+    private List<Entry> query(AABB area) {
+        int minX = SectionPos.blockToSectionCoord(area.minX), maxX = SectionPos.blockToSectionCoord(area.maxX);
+        int minY = SectionPos.blockToSectionCoord(area.minY), maxY = SectionPos.blockToSectionCoord(area.maxY);
+        int minZ = SectionPos.blockToSectionCoord(area.minZ), maxZ = SectionPos.blockToSectionCoord(area.maxZ);
+        long sectionCount = (long) (maxX - minX + 1) * (maxY - minY + 1) * (maxZ - minZ + 1);
+        List<Entry> found = new ArrayList<>(2);
+        if (sectionCount > entries.size()) {
+            //Scanning the few shields that exist is cheaper than visiting every section of a large area
+            for (Entry entry : entries.values()) {
+                if (entry.bounds.intersects(area)) {
+                    found.add(entry);
+                }
+            }
+            return found;
+        }
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    var bucket = sections.get(SectionPos.asLong(x, y, z));
+                    if (bucket != null) {
+                        for (Entry entry : bucket) {
+                            //A shield spanning several sections is in several buckets
+                            if (entry.bounds.intersects(area) && !found.contains(entry)) {
+                                found.add(entry);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    private void update(AbstractShieldEntity shield) {
+        var entry = entries.computeIfAbsent(shield, Entry::new);
+        var bounds = shield.getBoundingBox();
+        if (bounds.equals(entry.bounds)) {
+            return;
+        }
+        if (entry.sectionKeys != null) {
+            unbucket(entry);
+        }
+        entry.bounds = bounds;
+        int minX = SectionPos.blockToSectionCoord(bounds.minX), maxX = SectionPos.blockToSectionCoord(bounds.maxX);
+        int minY = SectionPos.blockToSectionCoord(bounds.minY), maxY = SectionPos.blockToSectionCoord(bounds.maxY);
+        int minZ = SectionPos.blockToSectionCoord(bounds.minZ), maxZ = SectionPos.blockToSectionCoord(bounds.maxZ);
+        entry.sectionKeys = new long[(maxX - minX + 1) * (maxY - minY + 1) * (maxZ - minZ + 1)];
+        int i = 0;
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    long key = SectionPos.asLong(x, y, z);
+                    entry.sectionKeys[i++] = key;
+                    sections.computeIfAbsent(key, k -> new ArrayList<>(1)).add(entry);
+                }
+            }
+        }
+    }
+
+    private void unbucket(Entry entry) {
+        for (long key : entry.sectionKeys) {
+            var bucket = sections.get(key);
+            if (bucket != null) {
+                bucket.remove(entry);
+                if (bucket.isEmpty()) {
+                    sections.remove(key);
+                }
+            }
+        }
+        entry.sectionKeys = null;
+    }
+}
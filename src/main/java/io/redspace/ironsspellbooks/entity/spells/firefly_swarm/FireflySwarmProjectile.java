@@ -7,6 +7,7 @@ import io.redspace.ironsspellbooks.damage.DamageSources;
 import io.redspace.ironsspellbooks.entity.mobs.AntiMagicSusceptible;
 import io.redspace.ironsspellbooks.registries.EntityRegistry;
 import io.redspace.ironsspellbooks.registries.SoundRegistry;
+import io.redspace.ironsspellbooks.util.EntityBroadphase;
 import io.redspace.ironsspellbooks.util.ParticleHelper;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.server.level.ServerLevel;
@@ -100,7 +101,7 @@ public class FireflySwarmProjectile extends PathfinderMob implements AntiMagicSu
         if (this.tickCount % 15 == 0) {
             //Damage tick
             float inflate = radius - this.getBbWidth() * .5f;
-            this.level.getEntities(this, this.getBoundingBox().inflate(inflate), this::canHitEntity).forEach(
+            EntityBroadphase.getEntities(level, this, this.getBoundingBox().inflate(inflate), this::canHitEntity).forEach(
                     (entity) -> {
                         if (canHitEntity(entity)) {
                             boolean hit = DamageSources.applyDamage(entity, damage, SpellRegistry.FIREFLY_SWARM_SPELL.get().getDamageSource(this, getOwner()));
@@ -1,18 +1,17 @@
 package io.redspace.ironsspellbooks.entity.spells.spectral_hammer;
 
-import io.redspace.ironsspellbooks.IronsSpellbooks;
-import io.redspace.ironsspellbooks.api.util.Utils;
-import io.redspace.ironsspellbooks.entity.VisualFallingBlockEntity;
+import io.redspace.ironsspellbooks.capabilities.magic.BlockDestructionScheduler;
 import io.redspace.ironsspellbooks.registries.EntityRegistry;
 import io.redspace.ironsspellbooks.registries.SoundRegistry;
 import io.redspace.ironsspellbooks.util.ModTags;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.sounds.SoundEvents;
 import net.minecraft.sounds.SoundSource;
-import net.minecraft.world.Containers;
-import net.minecraft.world.SimpleContainer;
 import net.minecraft.world.damagesource.DamageSource;
 import net.minecraft.world.entity.*;
 import net.minecraft.world.entity.ai.attributes.AttributeSupplier;
@@ -24,8 +23,6 @@ import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.phys.BlockHitResult;
 import net.minecraft.world.phys.HitResult;
-import net.minecraftforge.common.MinecraftForge;
-import net.minecraftforge.event.level.BlockEvent;
 import software.bernie.geckolib.animatable.GeoEntity;
 import software.bernie.geckolib.core.animatable.instance.AnimatableInstanceCache;
 import software.bernie.geckolib.core.animation.AnimatableManager;
@@ -35,7 +32,6 @@ import software.bernie.geckolib.core.object.PlayState;
 import software.bernie.geckolib.util.GeckoLibUtil;
 
 import java.util.*;
-import java.util.concurrent.atomic.AtomicInteger;
 
 public class SpectralHammer extends LivingEntity implements GeoEntity {
 
@@ -112,49 +108,17 @@ public class SpectralHammer extends LivingEntity implements GeoEntity {
                 var blockPos = blockHitResult.getBlockPos();
                 var blockState = level.getBlockState(blockPos);
 
-                if (blockState.is(ModTags.SPECTRAL_HAMMER_MINEABLE)) {
-                    var blockCollector = getBlockCollector(blockPos, blockHitResult.getDirection(), radius, depth, new HashSet<>(), new HashSet<>());
-                    collectBlocks(blockPos, blockCollector);
-
-                    if (!blockCollector.blocksToRemove.isEmpty()) {
-                        //IronsSpellbooks.LOGGER.debug("SpectralHammer.tick: origin:{}", blockCollector.origin);
-                        var random = Utils.random;
-                        AtomicInteger count = new AtomicInteger();
-                        int maxPossibleStacks = (this.radius * 2) * (1 + this.radius * 2) * (this.depth + 1);
-                        //TODO: using a simple container of this size may be a memory hog, and adding 1-3 items per block is going spin countless iterations through #addItem
-                        // Could instead keep set of itemstacks, and update the count for each block broken, then add those to a simple container and drop them
-                        SimpleContainer drops = new SimpleContainer(maxPossibleStacks);
-                        blockCollector.blocksToRemove.forEach(pos -> {
-                            var distance = blockCollector.origin.distManhattan(pos);
-                            var missChance = random.nextFloat() * 20;
-                            float pct = (distance * distance) / (100.0f * this.radius);
-
-                            var blockstate = level.getBlockState(pos);
-                            BlockEvent.BreakEvent event = new BlockEvent.BreakEvent(level, pos, blockstate, owner);
-                            MinecraftForge.EVENT_BUS.post(event);
-
-                            // Handle if the event is canceled
-                            if (!event.isCanceled()) {
-                                boolean spawnFallingBlock = missChance < pct;
-                                if (spawnFallingBlock) {
-                                    var blockstateCopy = blockstate.getBlock().defaultBlockState();//withPropertiesOf(blockstate);
-                                    var fallingblockentity = new VisualFallingBlockEntity(level, pos.getX(), pos.getY(), pos.getZ(), blockstateCopy, 100, true);
-                                    IronsSpellbooks.LOGGER.debug("spectral hammer falling block {} {} {} {} {}", blockstateCopy, pos.getX(), pos.getZ(), pos.getZ(), fallingblockentity);
-                                    //fallingblockentity.setDeltaMovement(Utils.getRandomVec3(0.05).subtract(0, 0.05, 0));
-                                    level.addFreshEntity(fallingblockentity);
-                                }
-                                if (count.incrementAndGet() % 5 == 0 && !spawnFallingBlock) {
-                                    level.destroyBlock(pos, false);
-                                } else {
-                                    level.removeBlock(pos, false);
-                                }
-
-                                //IronsSpellbooks.LOGGER.debug("SpectralHammer.tick: remove.2 pos:{}, dist:{}, missChance:{}, pct:{}", pos, distance, missChance, pct);
-                                dropResources(blockstate, level, pos).forEach(drops::addItem);
-                            }
-                        });
-                        Containers.dropContents(level, this.blockPosition(), drops);
-                    }
+                if (blockState.is(ModTags.SPECTRAL_HAMMER_MINEABLE) && level instanceof ServerLevel serverLevel) {
+                    var blockCollector = getBlockCollector(blockPos, blockHitResult.getDirection(), radius, depth, new LongOpenHashSet(), new LongOpenHashSet());
+                    var blocksToRemove = collectBlocks(blockPos, blockCollector);
+                    //IronsSpellbooks.LOGGER.debug("SpectralHammer.tick: origin:{}", blockCollector.origin);
+                    //Break outwards from the impact, spread over as many ticks as the per level budget needs
+                    var origin = blockCollector.origin;
+                    blocksToRemove.sort((long a, long b) -> Integer.compare(distManhattan(origin, a), distManhattan(origin, b)));
+                    int maxPossibleStacks = (this.radius * 2) * (1 + this.radius * 2) * (this.depth + 1);
+                    //TODO: using a simple container of this size may be a memory hog, and adding 1-3 items per block is going spin countless iterations through #addItem
+                    // Could instead keep set of itemstacks, and update the count for each block broken, then add those to a simple container and drop them
+                    BlockDestructionScheduler.scheduleHammer(serverLevel, blocksToRemove, origin, this.blockPosition(), this.radius, maxPossibleStacks, owner);
                 }
             }
 
@@ -173,51 +137,44 @@ public class SpectralHammer extends LivingEntity implements GeoEntity {
         return drops;
     }
 
-    private void collectBlocks(BlockPos blockPos, BlockCollectorHelper bch) {
-        var stack = new Stack<BlockPos>();
-        stack.push(blockPos);
+    /**
+     * @return the packed positions of every connected mineable block within the collector's bounds
+     */
+    private LongArrayList collectBlocks(BlockPos blockPos, BlockCollectorHelper bch) {
+        var blocksToRemove = new LongArrayList();
+        var stack = new LongArrayList();
+        var currentPos = new BlockPos.MutableBlockPos();
+        stack.add(blockPos.asLong());
 
         while (!stack.isEmpty()) {
-            BlockPos currentPos = stack.pop();
+            long current = stack.removeLong(stack.size() - 1);
 
-            if (bch.blocksChecked.contains(currentPos) || bch.blocksToRemove.contains(currentPos)) {
+            if (bch.blocksChecked.contains(current) || bch.blocksToRemove.contains(current)) {
                 continue;
             }
 
-            if (bch.isValidBlockToCollect(level, currentPos)) {
-                bch.blocksToRemove.add(currentPos);
+            if (bch.isValidBlockToCollect(level, currentPos.set(current))) {
+                bch.blocksToRemove.add(current);
+                blocksToRemove.add(current);
 
-                var tmpPos = currentPos.above();
-                if (!bch.blocksChecked.contains(tmpPos) && !bch.blocksToRemove.contains(tmpPos)) {
-                    stack.push(tmpPos);
-                }
-                tmpPos = currentPos.below();
-                if (!bch.blocksChecked.contains(tmpPos) && !bch.blocksToRemove.contains(tmpPos)) {
-                    stack.push(tmpPos);
-                }
-                tmpPos = currentPos.north();
-                if (!bch.blocksChecked.contains(tmpPos) && !bch.blocksToRemove.contains(tmpPos)) {
-                    stack.push(tmpPos);
-                }
-                tmpPos = currentPos.south();
-                if (!bch.blocksChecked.contains(tmpPos) && !bch.blocksToRemove.contains(tmpPos)) {
-                    stack.push(tmpPos);
-                }
-                tmpPos = currentPos.east();
-                if (!bch.blocksChecked.contains(tmpPos) && !bch.blocksToRemove.contains(tmpPos)) {
-                    stack.push(tmpPos);
-                }
-                tmpPos = currentPos.west();
-                if (!bch.blocksChecked.contains(tmpPos) && !bch.blocksToRemove.contains(tmpPos)) {
-                    stack.push(tmpPos);
+                for (Direction direction : Direction.values()) {
+                    long neighbor = BlockPos.offset(current, direction);
+                    if (!bch.blocksChecked.contains(neighbor) && !bch.blocksToRemove.contains(neighbor)) {
+                        stack.add(neighbor);
+                    }
                 }
             } else {
-                bch.blocksChecked.add(currentPos);
+                bch.blocksChecked.add(current);
             }
         }
+        return blocksToRemove;
+    }
+
+    private static int distManhattan(BlockPos origin, long pos) {
+        return Math.abs(BlockPos.getX(pos) - origin.getX()) + Math.abs(BlockPos.getY(pos) - origin.getY()) + Math.abs(BlockPos.getZ(pos) - origin.getZ());
     }
 
-    private BlockCollectorHelper getBlockCollector(BlockPos origin, Direction direction, int radius, int depth, Set<BlockPos> blocksToRemove, Set<BlockPos> blocksChecked) {
+    private BlockCollectorHelper getBlockCollector(BlockPos origin, Direction direction, int radius, int depth, LongSet blocksToRemove, LongSet blocksChecked) {
         int minX = origin.getX() - radius;
         int maxX = origin.getX() + radius;
         int minY = origin.getY() - radius;
@@ -266,8 +223,8 @@ public class SpectralHammer extends LivingEntity implements GeoEntity {
             int maxY,
             int minZ,
             int maxZ,
-            Set<BlockPos> blocksToRemove,
-            Set<BlockPos> blocksChecked) {
+            LongSet blocksToRemove,
+            LongSet blocksChecked) {
 
         public boolean isValidBlockToCollect(Level level, BlockPos bp) {
             return level.getBlockState(bp).is(ModTags.SPECTRAL_HAMMER_MINEABLE)
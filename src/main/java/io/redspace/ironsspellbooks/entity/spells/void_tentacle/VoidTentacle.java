@@ -7,6 +7,7 @@ import io.redspace.ironsspellbooks.damage.DamageSources;
 import io.redspace.ironsspellbooks.entity.mobs.AntiMagicSusceptible;
 import io.redspace.ironsspellbooks.registries.EntityRegistry;
 import io.redspace.ironsspellbooks.registries.SoundRegistry;
+import io.redspace.ironsspellbooks.util.EntityBroadphase;
 import io.redspace.ironsspellbooks.util.ParticleHelper;
 import io.redspace.ironsspellbooks.api.util.Utils;
 import net.minecraft.core.particles.ParticleTypes;
@@ -79,7 +80,7 @@ public class VoidTentacle extends LivingEntity implements GeoEntity, AntiMagicSu
                 this.discard();
             } else {
                 if (age < 280 && (age) % 20 == 0) {
-                    level.getEntitiesOfClass(LivingEntity.class, this.getBoundingBox().inflate(1.2)).forEach(this::dealDamage);
+                    EntityBroadphase.getEntitiesOfClass(level, LivingEntity.class, this.getBoundingBox().inflate(1.2)).forEach(this::dealDamage);
                     if (Utils.random.nextFloat() < .15f)
                         playSound(SoundRegistry.VOID_TENTACLES_AMBIENT.get(), 1.5f, .5f + Utils.random.nextFloat() * .65f);
                 }
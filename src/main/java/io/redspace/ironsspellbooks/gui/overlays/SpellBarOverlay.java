@@ -4,7 +4,7 @@ import com.mojang.blaze3d.systems.RenderSystem;
 import com.mojang.blaze3d.vertex.PoseStack;
 import io.redspace.ironsspellbooks.IronsSpellbooks;
 import io.redspace.ironsspellbooks.api.magic.SpellSelectionManager;
-import io.redspace.ironsspellbooks.api.spells.SpellData;
+import io.redspace.ironsspellbooks.api.spells.AbstractSpell;
 import io.redspace.ironsspellbooks.compat.Curios;
 import io.redspace.ironsspellbooks.config.ClientConfigs;
 import io.redspace.ironsspellbooks.player.ClientMagicData;
@@ -50,6 +50,11 @@ public class SpellBarOverlay implements IGuiOverlay {
     static int lastTick;
     static float alpha;
     static SpellSelectionManager lastSelection;
+    //What each slot draws, rebuilt only when the selection manager is replaced (ie equipment changed)
+    static List<SlotModel> slotModels = List.of();
+
+    record SlotModel(AbstractSpell spell, ResourceLocation icon, boolean fromSpellbook) {
+    }
 
     public void render(ForgeGui gui, GuiGraphics guiHelper, float partialTick, int screenWidth, int screenHeight) {
         Player player = Minecraft.getInstance().player;
@@ -69,6 +74,7 @@ public class SpellBarOverlay implements IGuiOverlay {
         if (ssm != lastSelection) {
             lastSelection = ssm;
             ClientRenderCache.generateRelativeLocations(ssm, 20, 22);
+            slotModels = ssm.getAllSpells().stream().map(option -> new SlotModel(option.spellData.getSpell(), option.spellData.getSpell().getSpellIconResource(), option.slot.equals(Curios.SPELLBOOK_SLOT))).toList();
             if (displayMode == ManaBarOverlay.Display.Contextual) {
                 fadeoutDelay = CONTEXTUAL_FADE_WAIT;
             }
@@ -95,8 +101,7 @@ public class SpellBarOverlay implements IGuiOverlay {
         //
         //  Render Spells
         //
-        List<SpellData> spells = ssm.getAllSpells().stream().map((slot) -> slot.spellData).toList();
-        int spellbookCount = ssm.getSpellsForSlot(Curios.SPELLBOOK_SLOT).size();
+        var slots = slotModels;
         var locations = ClientRenderCache.relativeSpellBarSlotLocations;
         int approximateWidth = locations.size() / 3;
         //Move spellbar away from hotbar as it gets bigger
@@ -111,15 +116,15 @@ public class SpellBarOverlay implements IGuiOverlay {
         }
         //Spell Icons
         for (int i = 0; i < locations.size(); i++) {
-            guiHelper.blit(spells.get(i).getSpell().getSpellIconResource(), centerX + (int) locations.get(i).x + 3, centerY + (int) locations.get(i).y + 3, 0, 0, 16, 16, 16, 16);
+            guiHelper.blit(slots.get(i).icon(), centerX + (int) locations.get(i).x + 3, centerY + (int) locations.get(i).y + 3, 0, 0, 16, 16, 16, 16);
         }
         //Border + Cooldowns
         for (int i = 0; i < locations.size(); i++) {
             setTranslucentTexture(TEXTURE);
             if (i != selectedSpellIndex) {
-                guiHelper.blit(TEXTURE, centerX + (int) locations.get(i).x, centerY + (int) locations.get(i).y, 22 + (!ssm.getAllSpells().get(i).slot.equals(Curios.SPELLBOOK_SLOT) ? 110 : 0), 84, 22, 22);
+                guiHelper.blit(TEXTURE, centerX + (int) locations.get(i).x, centerY + (int) locations.get(i).y, 22 + (!slots.get(i).fromSpellbook() ? 110 : 0), 84, 22, 22);
             }
-            float f = ClientMagicData.getCooldownPercent(spells.get(i).getSpell());
+            float f = ClientMagicData.getCooldownPercent(slots.get(i).spell());
             if (f > 0) {
                 int pixels = (int) (16 * f + 1f);
                 guiHelper.blit(TEXTURE, centerX + (int) locations.get(i).x + 3, centerY + (int) locations.get(i).y + 19 - pixels, 47, 87, 16, pixels);
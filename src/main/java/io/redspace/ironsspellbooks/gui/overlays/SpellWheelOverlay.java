@@ -9,9 +9,11 @@ import io.redspace.ironsspellbooks.player.ClientMagicData;
 import io.redspace.ironsspellbooks.util.TooltipsUtils;
 import net.minecraft.ChatFormatting;
 import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.Font;
 import net.minecraft.client.gui.GuiGraphics;
 import net.minecraft.client.renderer.GameRenderer;
 import net.minecraft.network.chat.Component;
+import net.minecraft.network.chat.MutableComponent;
 import net.minecraft.network.chat.Style;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.util.Mth;
@@ -21,6 +23,8 @@ import net.minecraftforge.client.gui.overlay.ForgeGui;
 import net.minecraftforge.client.gui.overlay.IGuiOverlay;
 import org.joml.Vector4f;
 
+import java.util.List;
+
 public class SpellWheelOverlay implements IGuiOverlay {
     public static SpellWheelOverlay instance = new SpellWheelOverlay();
 
@@ -39,6 +43,53 @@ public class SpellWheelOverlay implements IGuiOverlay {
     private int wheelSelection;
     private SpellSelectionManager swsm;
 
+    //Icon layout only depends on how many spells there are
+    private Vec2[] iconLocations = new Vec2[0];
+    private float iconScale;
+
+    //Text of the hovered spell. Rebuilt when the hovered spell or equipment changes, and every so often so spell level changes from attributes still show
+    private static final int MODEL_REFRESH_TICKS = 10;
+    private SelectedSpellModel selectedSpellModel;
+
+    private static class SelectedSpellModel {
+        final SpellSelectionManager manager;
+        final int index;
+        final int builtTick;
+        final Component title;
+        final Component level;
+        final Component mana;
+        final List<MutableComponent> info;
+        final int titleWidth;
+        final int levelWidth;
+        final int manaWidth;
+
+        SelectedSpellModel(SpellSelectionManager manager, int index, Player player, Font font) {
+            this.manager = manager;
+            this.index = index;
+            this.builtTick = player.tickCount;
+            var selectedSpell = manager.getSpellData(index);
+            var spellLevel = selectedSpell.getSpell().getLevelFor(selectedSpell.getLevel(), player);
+            this.info = selectedSpell.getSpell().getUniqueInfo(spellLevel, player);
+            this.title = selectedSpell.getSpell().getDisplayName(player).withStyle(Style.EMPTY.withUnderlined(true));
+            this.level = Component.translatable("ui.irons_spellbooks.level", TooltipsUtils.getLevelComponenet(selectedSpell, player).withStyle(selectedSpell.getSpell().getRarity(spellLevel).getDisplayName().getStyle()));
+            this.mana = Component.translatable("ui.irons_spellbooks.mana_cost", selectedSpell.getSpell().getManaCost(spellLevel)).withStyle(ChatFormatting.AQUA);
+            this.titleWidth = font.width(title);
+            this.levelWidth = font.width(level);
+            this.manaWidth = font.width(mana);
+        }
+
+        boolean isValid(SpellSelectionManager manager, int index, Player player) {
+            return this.manager == manager && this.index == index && player.tickCount - builtTick < MODEL_REFRESH_TICKS && player.tickCount >= builtTick;
+        }
+    }
+
+    private SelectedSpellModel getSelectedSpellModel(Player player, Font font, int index) {
+        if (selectedSpellModel == null || !selectedSpellModel.isValid(swsm, index, player)) {
+            selectedSpellModel = new SelectedSpellModel(swsm, index, player, font);
+        }
+        return selectedSpellModel;
+    }
+
     public void open() {
         active = true;
         wheelSelection = -1;
@@ -106,22 +157,17 @@ public class SpellWheelOverlay implements IGuiOverlay {
         RenderSystem.disableBlend();
 
         //Text background
-        var selectedSpell = swsm.getSpellData(wheelSelection);
-        var spellLevel = selectedSpell.getSpell().getLevelFor(selectedSpell.getLevel(), player);
         var font = gui.getFont();
-        var info = selectedSpell.getSpell().getUniqueInfo(spellLevel, minecraft.player);
+        var model = getSelectedSpellModel(player, font, wheelSelection);
+        var info = model.info;
         int textHeight = Math.max(2, info.size()) * font.lineHeight + 5;
         int textCenterMargin = 5;
         int textTitleMargin = 5;
-        var title = selectedSpell.getSpell().getDisplayName(minecraft.player).withStyle(Style.EMPTY.withUnderlined(true));
-        var level = Component.translatable("ui.irons_spellbooks.level", TooltipsUtils.getLevelComponenet(selectedSpell, player).withStyle(selectedSpell.getSpell().getRarity(spellLevel).getDisplayName().getStyle()));
-        var mana = Component.translatable("ui.irons_spellbooks.mana_cost", selectedSpell.getSpell().getManaCost(spellLevel)).withStyle(ChatFormatting.AQUA);
-//            selectedSpell.getUniqueInfo(minecraft.player).forEach((line) -> lines.add(line.withStyle(ChatFormatting.DARK_GREEN)));
 
         drawTextBackground(guiHelper, centerX, centerY, ringOuterEdge + textHeight - textTitleMargin - font.lineHeight, textCenterMargin, Math.max(2, info.size()) * font.lineHeight);
-        guiHelper.drawString(font, title, (int) (centerX - font.width(title) / 2), (int) (centerY - (ringOuterEdge + textHeight)), 0xFFFFFF, true);
-        guiHelper.drawString(font, level, (int) (centerX - font.width(level) - textCenterMargin), (int) (centerY - (ringOuterEdge + textHeight) + font.lineHeight + textTitleMargin), 0xFFFFFF, true);
-        guiHelper.drawString(font, mana, (int) (centerX - font.width(mana) - textCenterMargin), (int) (centerY - (ringOuterEdge + textHeight) + font.lineHeight * 2 + textTitleMargin), 0xFFFFFF, true);
+        guiHelper.drawString(font, model.title, (int) (centerX - model.titleWidth / 2), (int) (centerY - (ringOuterEdge + textHeight)), 0xFFFFFF, true);
+        guiHelper.drawString(font, model.level, (int) (centerX - model.levelWidth - textCenterMargin), (int) (centerY - (ringOuterEdge + textHeight) + font.lineHeight + textTitleMargin), 0xFFFFFF, true);
+        guiHelper.drawString(font, model.mana, (int) (centerX - model.manaWidth - textCenterMargin), (int) (centerY - (ringOuterEdge + textHeight) + font.lineHeight * 2 + textTitleMargin), 0xFFFFFF, true);
 
         for (int i = 0; i < info.size(); i++) {
             var line = info.get(i);
@@ -129,12 +175,16 @@ public class SpellWheelOverlay implements IGuiOverlay {
         }
 
         //Spell Icons
-        float scale = Mth.lerp(totalSpellsAvailable / 15f, 2, 1.25f) * .65f;
-        double radius = 3 / scale * (ringInnerEdge + ringInnerEdge) * .5 * (.85f + .25f * (totalSpellsAvailable / 15f));
-        Vec2[] locations = new Vec2[totalSpellsAvailable];
-        for (int i = 0; i < locations.length; i++) {
-            locations[i] = new Vec2((float) (Math.sin(radiansPerSpell * i) * radius), (float) (-Math.cos(radiansPerSpell * i) * radius));
+        if (iconLocations.length != totalSpellsAvailable) {
+            iconScale = Mth.lerp(totalSpellsAvailable / 15f, 2, 1.25f) * .65f;
+            double radius = 3 / iconScale * (ringInnerEdge + ringInnerEdge) * .5 * (.85f + .25f * (totalSpellsAvailable / 15f));
+            iconLocations = new Vec2[totalSpellsAvailable];
+            for (int i = 0; i < iconLocations.length; i++) {
+                iconLocations[i] = new Vec2((float) (Math.sin(radiansPerSpell * i) * radius), (float) (-Math.cos(radiansPerSpell * i) * radius));
+            }
         }
+        float scale = iconScale;
+        Vec2[] locations = iconLocations;
         for (int i = 0; i < locations.length; i++) {
             var spell = swsm.getSpellData(i);
             if (spell != null) {
@@ -1,5 +1,6 @@
 package io.redspace.ironsspellbooks.gui.scroll_forge.network;
 
+import io.redspace.ironsspellbooks.api.registry.SpellRegistry;
 import io.redspace.ironsspellbooks.block.scroll_forge.ScrollForgeTile;
 import net.minecraft.core.BlockPos;
 import net.minecraft.network.FriendlyByteBuf;
@@ -23,7 +24,7 @@ public class ServerboundScrollForgeSelectSpell {
         int y = buf.readInt();
         int z = buf.readInt();
         pos = new BlockPos(x, y, z);
-        spellId = buf.readUtf();
+        spellId = SpellRegistry.readSpellId(buf);
 
     }
 
@@ -31,7 +32,7 @@ public class ServerboundScrollForgeSelectSpell {
         buf.writeInt(pos.getX());
         buf.writeInt(pos.getY());
         buf.writeInt(pos.getZ());
-        buf.writeUtf(spellId);
+        SpellRegistry.writeSpellId(buf, spellId);
     }
 
     public boolean handle(Supplier<NetworkEvent.Context> supplier) {
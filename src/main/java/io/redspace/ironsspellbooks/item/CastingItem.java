@@ -2,6 +2,7 @@ package io.redspace.ironsspellbooks.item;
 
 import io.redspace.ironsspellbooks.api.spells.SpellData;
 import io.redspace.ironsspellbooks.api.util.Utils;
+import io.redspace.ironsspellbooks.api.magic.MagicData;
 import io.redspace.ironsspellbooks.api.magic.SpellSelectionManager;
 import io.redspace.ironsspellbooks.item.weapons.IMultihandWeapon;
 import io.redspace.ironsspellbooks.player.ClientMagicData;
@@ -27,7 +28,7 @@ public class CastingItem extends Item implements IMultihandWeapon {
     @Override
     public InteractionResultHolder<ItemStack> use(Level level, Player player, InteractionHand hand) {
         ItemStack itemStack = player.getItemInHand(hand);
-        SpellSelectionManager spellSelectionManager = new SpellSelectionManager(player);
+        SpellSelectionManager spellSelectionManager = level.isClientSide ? ClientMagicData.getSpellSelectionManager() : MagicData.getPlayerMagicData(player).getSpellSelectionManager();
         SpellSelectionManager.SelectionOption selectionOption = spellSelectionManager.getSelection();
         if (selectionOption == null || selectionOption.spellData.equals(SpellData.EMPTY)) {
             //IronsSpellbooks.LOGGER.debug("CastingItem.Use.1 {} {}", level.isClientSide, hand);
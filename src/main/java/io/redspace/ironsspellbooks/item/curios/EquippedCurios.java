@@ -0,0 +1,66 @@
+package io.redspace.ironsspellbooks.item.curios;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.redspace.ironsspellbooks.api.item.curios.AffinityData;
+import io.redspace.ironsspellbooks.api.spells.AbstractSpell;
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import top.theillusivec4.curios.api.CuriosApi;
+import top.theillusivec4.curios.api.SlotResult;
+
+/**
+ * Per entity index of the items equipped in curio slots and the affinity bonuses they grant.
+ * <br>
+ * Server side, an index stays valid until a {@link top.theillusivec4.curios.api.event.CurioChangeEvent} for its entity invalidates it.
+ * Curios only detects changes on the server, so client side an index is only reused within the tick it was built.
+ */
+public class EquippedCurios {
+    private static final Cache<LivingEntity, EquippedCurios> INDEX = CacheBuilder.newBuilder().weakKeys().build();
+
+    private final Reference2IntMap<Item> itemCounts = new Reference2IntOpenHashMap<>();
+    private final Reference2IntMap<AbstractSpell> affinityBonuses = new Reference2IntOpenHashMap<>();
+    private final int builtTick;
+
+    private EquippedCurios(LivingEntity entity) {
+        this.builtTick = entity.tickCount;
+        for (SlotResult slotResult : CuriosApi.getCuriosHelper().findCurios(entity, itemStack -> !itemStack.isEmpty())) {
+            ItemStack itemStack = slotResult.stack();
+            itemCounts.mergeInt(itemStack.getItem(), 1, Integer::sum);
+            if (AffinityData.hasAffinityData(itemStack)) {
+                affinityBonuses.mergeInt(AffinityData.getAffinityData(itemStack).getSpell(), 1, Integer::sum);
+            }
+        }
+    }
+
+    public static EquippedCurios of(LivingEntity entity) {
+        EquippedCurios index = INDEX.getIfPresent(entity);
+        if (index == null || (entity.level.isClientSide && index.builtTick != entity.tickCount)) {
+            index = new EquippedCurios(entity);
+            INDEX.put(entity, index);
+        }
+        return index;
+    }
+
+    public static void invalidate(LivingEntity entity) {
+        INDEX.invalidate(entity);
+    }
+
+    public boolean has(Item item) {
+        return itemCounts.containsKey(item);
+    }
+
+    public int count(Item item) {
+        return itemCounts.getInt(item);
+    }
+
+    /**
+     * @return number of equipped curios with an affinity for this spell
+     */
+    public int getAffinityBonus(AbstractSpell spell) {
+        return affinityBonuses.getInt(spell);
+    }
+}
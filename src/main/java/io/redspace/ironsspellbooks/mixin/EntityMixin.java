@@ -34,8 +34,11 @@ public abstract class EntityMixin {
     public void isAlliedTo(Entity entity, CallbackInfoReturnable<Boolean> cir) {
         Entity self = ((Entity) (Object) this);
         //IronsSpellbooks.LOGGER.debug("EntityMixin.isAlliedTo Check: {} allied to {}: {}", ((Entity) (Object) this).getName().getString(), entity.getName().getString(), flag);
-        if (entity instanceof MagicSummon summon && summon.getSummoner() != null)
-            cir.setReturnValue(self.isAlliedTo(summon.getSummoner()) || self.equals(summon.getSummoner()));
+        if (entity instanceof MagicSummon summon) {
+            var summoner = summon.getSummoner();
+            if (summoner != null)
+                cir.setReturnValue(self.isAlliedTo(summoner) || self.equals(summoner));
+        }
 
     }
 
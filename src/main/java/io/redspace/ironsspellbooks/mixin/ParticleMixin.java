@@ -1,6 +1,6 @@
 package io.redspace.ironsspellbooks.mixin;
 
-import io.redspace.ironsspellbooks.entity.spells.AbstractShieldEntity;
+import io.redspace.ironsspellbooks.entity.spells.ShieldIndex;
 import net.minecraft.client.multiplayer.ClientLevel;
 import net.minecraft.client.particle.Particle;
 import net.minecraft.world.phys.AABB;
@@ -10,7 +10,6 @@ import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.ModifyArg;
 
-import java.util.ArrayList;
 import java.util.List;
 
 @Mixin(Particle.class)
@@ -26,8 +25,9 @@ public class ParticleMixin {
             index = 4
     )
     private List<VoxelShape> mixin(List<VoxelShape> in) {
-        List<VoxelShape> shieldCollisions = new ArrayList<>();
-        level.getEntitiesOfClass(AbstractShieldEntity.class, bb.inflate(0.25)).stream().forEach((s) -> shieldCollisions.addAll(s.getVoxels()));
-        return shieldCollisions;
+        if (ShieldIndex.isEmpty(level)) {
+            return in;
+        }
+        return ShieldIndex.getVoxels(level, bb.inflate(0.25));
     }
 }
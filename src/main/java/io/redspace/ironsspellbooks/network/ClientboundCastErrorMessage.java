@@ -1,5 +1,6 @@
 package io.redspace.ironsspellbooks.network;
 
+import io.redspace.ironsspellbooks.api.registry.SpellRegistry;
 import io.redspace.ironsspellbooks.api.spells.AbstractSpell;
 import io.redspace.ironsspellbooks.player.ClientSpellCastHelper;
 import net.minecraft.network.FriendlyByteBuf;
@@ -23,13 +24,13 @@ public class ClientboundCastErrorMessage {
 
     public ClientboundCastErrorMessage(FriendlyByteBuf buf) {
         errorType = buf.readEnum(ErrorType.class);
-        spellId = buf.readUtf();
+        spellId = SpellRegistry.readSpellId(buf);
 
     }
 
     public void toBytes(FriendlyByteBuf buf) {
         buf.writeEnum(errorType);
-        buf.writeUtf(spellId);
+        SpellRegistry.writeSpellId(buf, spellId);
     }
 
     public boolean handle(Supplier<NetworkEvent.Context> supplier) {
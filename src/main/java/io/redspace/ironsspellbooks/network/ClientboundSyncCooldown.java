@@ -1,5 +1,6 @@
 package io.redspace.ironsspellbooks.network;
 
+import io.redspace.ironsspellbooks.api.registry.SpellRegistry;
 import io.redspace.ironsspellbooks.player.ClientMagicData;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraftforge.network.NetworkEvent;
@@ -16,12 +17,12 @@ public class ClientboundSyncCooldown {
     }
 
     public ClientboundSyncCooldown(FriendlyByteBuf buf) {
-        spellId = buf.readUtf();
+        spellId = SpellRegistry.readSpellId(buf);
         duration = buf.readInt();
     }
 
     public void toBytes(FriendlyByteBuf buf) {
-        buf.writeUtf(spellId);
+        SpellRegistry.writeSpellId(buf, spellId);
         buf.writeInt(duration);
     }
 
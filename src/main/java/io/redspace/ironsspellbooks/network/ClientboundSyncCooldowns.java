@@ -1,5 +1,6 @@
 package io.redspace.ironsspellbooks.network;
 
+import io.redspace.ironsspellbooks.api.registry.SpellRegistry;
 import io.redspace.ironsspellbooks.capabilities.magic.CooldownInstance;
 import io.redspace.ironsspellbooks.player.ClientMagicData;
 import net.minecraft.network.FriendlyByteBuf;
@@ -10,9 +11,11 @@ import java.util.function.Supplier;
 
 public class ClientboundSyncCooldowns {
     private final Map<String, CooldownInstance> spellCooldowns;
+    //false when only the listed cooldowns changed. A listed cooldown with no time remaining is removed
+    private final boolean replaceAll;
 
     public static String readSpellID(FriendlyByteBuf buffer) {
-        return buffer.readUtf();
+        return SpellRegistry.readSpellId(buffer);
     }
 
     public static CooldownInstance readCoolDownInstance(FriendlyByteBuf buffer) {
@@ -22,7 +25,7 @@ public class ClientboundSyncCooldowns {
     }
 
     public static void writeSpellId(FriendlyByteBuf buf, String spellId) {
-        buf.writeUtf(spellId);
+        SpellRegistry.writeSpellId(buf, spellId);
     }
 
     public static void writeCoolDownInstance(FriendlyByteBuf buf, CooldownInstance cooldownInstance) {
@@ -31,14 +34,21 @@ public class ClientboundSyncCooldowns {
     }
 
     public ClientboundSyncCooldowns(Map<String, CooldownInstance> spellCooldowns) {
+        this(spellCooldowns, true);
+    }
+
+    public ClientboundSyncCooldowns(Map<String, CooldownInstance> spellCooldowns, boolean replaceAll) {
         this.spellCooldowns = spellCooldowns;
+        this.replaceAll = replaceAll;
     }
 
     public ClientboundSyncCooldowns(FriendlyByteBuf buf) {
+        this.replaceAll = buf.readBoolean();
         this.spellCooldowns = buf.readMap(ClientboundSyncCooldowns::readSpellID, ClientboundSyncCooldowns::readCoolDownInstance);
     }
 
     public void toBytes(FriendlyByteBuf buf) {
+        buf.writeBoolean(replaceAll);
         buf.writeMap(spellCooldowns, ClientboundSyncCooldowns::writeSpellId, ClientboundSyncCooldowns::writeCoolDownInstance);
     }
 
@@ -46,12 +56,20 @@ public class ClientboundSyncCooldowns {
         NetworkEvent.Context ctx = supplier.get();
         ctx.enqueueWork(() -> {
             var cooldowns = ClientMagicData.getCooldowns();
-            cooldowns.clearCooldowns();
+            if (replaceAll) {
+                cooldowns.clearCooldowns();
+            }
             this.spellCooldowns.forEach((k, v) -> {
                 //irons_spellbooks.LOGGER.debug("ClientboundSyncCooldowns {} {} {}", k, v.getSpellCooldown(), v.getCooldownRemaining());
-                cooldowns.addCooldown(k, v.getSpellCooldown(), v.getCooldownRemaining());
+                if (v.getCooldownRemaining() > 0) {
+                    cooldowns.addCooldown(k, v.getSpellCooldown(), v.getCooldownRemaining());
+                } else {
+                    cooldowns.removeCooldown(k);
+                }
             });
-            ClientMagicData.resetClientCastState(null);
+            if (replaceAll) {
+                ClientMagicData.resetClientCastState(null);
+            }
         });
         return true;
     }
@@ -12,9 +12,18 @@ import java.util.function.Supplier;
 public class ClientboundSyncEntityData {
     SyncedSpellData syncedSpellData;
     int entityId;
+    int fields;
 
     public ClientboundSyncEntityData(SyncedSpellData syncedSpellData, IMagicEntity entity) {
+        this(syncedSpellData, entity, SyncedSpellData.SYNC_ALL);
+    }
+
+    /**
+     * @param fields Bitmask of {@code SyncedSpellData.SYNC_*} field groups to send
+     */
+    public ClientboundSyncEntityData(SyncedSpellData syncedSpellData, IMagicEntity entity, int fields) {
         this.syncedSpellData = syncedSpellData;
+        this.fields = fields;
         if (entity instanceof PathfinderMob m) {
             this.entityId = m.getId();
         }else throw new IllegalStateException("Unable to add " + this.getClass().getSimpleName() + "to entity, must extend PathfinderMob.");
@@ -22,19 +31,23 @@ public class ClientboundSyncEntityData {
 
     public ClientboundSyncEntityData(FriendlyByteBuf buf) {
         entityId = buf.readInt();
-        syncedSpellData = SyncedSpellData.SYNCED_SPELL_DATA.read(buf);
+        syncedSpellData = new SyncedSpellData(buf.readInt());
+        fields = buf.readByte();
+        syncedSpellData.readDelta(buf, fields);
     }
 
     public void toBytes(FriendlyByteBuf buf) {
         buf.writeInt(entityId);
-        SyncedSpellData.SYNCED_SPELL_DATA.write(buf, syncedSpellData);
+        buf.writeInt(syncedSpellData.getServerPlayerId());
+        buf.writeByte(fields);
+        syncedSpellData.writeDelta(buf, fields);
     }
 
     public boolean handle(Supplier<NetworkEvent.Context> supplier) {
         NetworkEvent.Context ctx = supplier.get();
 
         ctx.enqueueWork(() -> {
-            ClientMagicData.handleAbstractCastingMobSyncedData(entityId, syncedSpellData);
+            ClientMagicData.handleAbstractCastingMobSyncedData(entityId, syncedSpellData, fields);
         });
 
         return true;
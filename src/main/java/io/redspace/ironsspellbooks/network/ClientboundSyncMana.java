@@ -10,26 +10,33 @@ import java.util.function.Supplier;
 public class ClientboundSyncMana {
 
     private int playerMana = 0;
-    private MagicData playerMagicData = null;
-
+    private float manaRegenPerTick = 0;
 
     public ClientboundSyncMana(MagicData playerMagicData) {
         //Server side only
-        this.playerMagicData = playerMagicData;
+        this((int) playerMagicData.getMana(), 0);
+    }
+
+    public ClientboundSyncMana(int playerMana, float manaRegenPerTick) {
+        //Server side only
+        this.playerMana = playerMana;
+        this.manaRegenPerTick = manaRegenPerTick;
     }
 
     public ClientboundSyncMana(FriendlyByteBuf buf) {
         playerMana = buf.readInt();
+        manaRegenPerTick = buf.readFloat();
     }
 
     public void toBytes(FriendlyByteBuf buf) {
-        buf.writeInt((int) playerMagicData.getMana());
+        buf.writeInt(playerMana);
+        buf.writeFloat(manaRegenPerTick);
     }
 
     public boolean handle(Supplier<NetworkEvent.Context> supplier) {
         NetworkEvent.Context ctx = supplier.get();
         ctx.enqueueWork(() -> {
-            ClientMagicData.setMana(playerMana);
+            ClientMagicData.setMana(playerMana, manaRegenPerTick);
         });
         return true;
     }
@@ -10,26 +10,39 @@ import java.util.function.Supplier;
 
 public class ClientboundSyncPlayerData {
     SyncedSpellData syncedSpellData;
+    int fields;
 
     public ClientboundSyncPlayerData(SyncedSpellData playerSyncedData) {
+        this(playerSyncedData, SyncedSpellData.SYNC_ALL);
+    }
+
+    /**
+     * @param fields Bitmask of {@code SyncedSpellData.SYNC_*} field groups to send
+     */
+    public ClientboundSyncPlayerData(SyncedSpellData playerSyncedData, int fields) {
         this.syncedSpellData = playerSyncedData;
+        this.fields = fields;
     }
 
     public ClientboundSyncPlayerData(FriendlyByteBuf buf) {
-        syncedSpellData = SyncedSpellData.SYNCED_SPELL_DATA.read(buf);
+        syncedSpellData = new SyncedSpellData(buf.readInt());
+        fields = buf.readByte();
+        syncedSpellData.readDelta(buf, fields);
     }
 
     public void toBytes(FriendlyByteBuf buf) {
-        SyncedSpellData.SYNCED_SPELL_DATA.write(buf, syncedSpellData);
+        buf.writeInt(syncedSpellData.getServerPlayerId());
+        buf.writeByte(fields);
+        syncedSpellData.writeDelta(buf, fields);
     }
 
     public boolean handle(Supplier<NetworkEvent.Context> supplier) {
         NetworkEvent.Context ctx = supplier.get();
 
         ctx.enqueueWork(() -> {
-            ClientMagicData.handlePlayerSyncedData(syncedSpellData);
+            ClientMagicData.handlePlayerSyncedData(syncedSpellData, fields);
         });
 
         return true;
     }
-}
\ No newline at end of file
+}
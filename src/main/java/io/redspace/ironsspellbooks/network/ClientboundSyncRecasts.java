@@ -1,27 +1,39 @@
 package io.redspace.ironsspellbooks.network;
 
+import io.redspace.ironsspellbooks.api.registry.SpellRegistry;
 import io.redspace.ironsspellbooks.capabilities.magic.PlayerRecasts;
 import io.redspace.ironsspellbooks.capabilities.magic.RecastInstance;
 import io.redspace.ironsspellbooks.player.ClientMagicData;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraftforge.network.NetworkEvent;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.List;
 import java.util.Map;
 import java.util.function.Supplier;
 
 public class ClientboundSyncRecasts {
     private final Map<String, RecastInstance> recastLookup;
+    //null when the lookup replaces every recast, otherwise the lookup only holds changed recasts
+    private final @Nullable List<String> removed;
 
     public ClientboundSyncRecasts(Map<String, RecastInstance> recastLookup) {
         this.recastLookup = recastLookup;
+        this.removed = null;
+    }
+
+    public ClientboundSyncRecasts(Map<String, RecastInstance> updated, List<String> removed) {
+        this.recastLookup = updated;
+        this.removed = removed;
     }
 
     public ClientboundSyncRecasts(FriendlyByteBuf buf) {
         this.recastLookup = buf.readMap(ClientboundSyncRecasts::readSpellID, ClientboundSyncRecasts::readRecastInstance);
+        this.removed = buf.readNullable(b -> b.readList(ClientboundSyncRecasts::readSpellID));
     }
 
     public static String readSpellID(FriendlyByteBuf buffer) {
-        return buffer.readUtf();
+        return SpellRegistry.readSpellId(buffer);
     }
 
     public static RecastInstance readRecastInstance(FriendlyByteBuf buffer) {
@@ -31,7 +43,7 @@ public class ClientboundSyncRecasts {
     }
 
     public static void writeSpellId(FriendlyByteBuf buf, String spellId) {
-        buf.writeUtf(spellId);
+        SpellRegistry.writeSpellId(buf, spellId);
     }
 
     public static void writeRecastInstance(FriendlyByteBuf buf, RecastInstance recastInstance) {
@@ -40,12 +52,19 @@ public class ClientboundSyncRecasts {
 
     public void toBytes(FriendlyByteBuf buf) {
         buf.writeMap(recastLookup, ClientboundSyncRecasts::writeSpellId, ClientboundSyncRecasts::writeRecastInstance);
+        buf.writeNullable(removed, (b, list) -> b.writeCollection(list, ClientboundSyncRecasts::writeSpellId));
     }
 
     public boolean handle(Supplier<NetworkEvent.Context> supplier) {
         NetworkEvent.Context ctx = supplier.get();
         ctx.enqueueWork(() -> {
-            ClientMagicData.setRecasts(new PlayerRecasts(recastLookup));
+            if (removed == null) {
+                ClientMagicData.setRecasts(new PlayerRecasts(recastLookup));
+            } else {
+                var recasts = ClientMagicData.getRecasts();
+                removed.forEach(recasts::removeRecast);
+                recastLookup.values().forEach(recasts::forceAddRecast);
+            }
         });
         return true;
     }
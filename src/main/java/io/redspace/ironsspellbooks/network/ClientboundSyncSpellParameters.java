@@ -0,0 +1,37 @@
+package io.redspace.ironsspellbooks.network;
+
+import io.redspace.ironsspellbooks.api.spells.parameters.SpellParameterLoader;
+import net.minecraft.client.Minecraft;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraftforge.network.NetworkEvent;
+
+import java.util.function.Supplier;
+
+public class ClientboundSyncSpellParameters {
+
+    private final SpellParameterLoader.SyncedConfigs configs;
+
+    public ClientboundSyncSpellParameters(SpellParameterLoader.SyncedConfigs configs) {
+        //Server side only
+        this.configs = configs;
+    }
+
+    public ClientboundSyncSpellParameters(FriendlyByteBuf buf) {
+        configs = SpellParameterLoader.SyncedConfigs.read(buf);
+    }
+
+    public void toBytes(FriendlyByteBuf buf) {
+        configs.write(buf);
+    }
+
+    public boolean handle(Supplier<NetworkEvent.Context> supplier) {
+        NetworkEvent.Context ctx = supplier.get();
+        ctx.enqueueWork(() -> {
+            //The integrated server already shares the loader's snapshot with the client
+            if (!Minecraft.getInstance().isLocalServer()) {
+                SpellParameterLoader.applySynced(configs);
+            }
+        });
+        return true;
+    }
+}
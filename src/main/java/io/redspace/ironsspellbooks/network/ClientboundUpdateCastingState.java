@@ -1,5 +1,6 @@
 package io.redspace.ironsspellbooks.network;
 
+import io.redspace.ironsspellbooks.api.registry.SpellRegistry;
 import io.redspace.ironsspellbooks.player.ClientMagicData;
 import io.redspace.ironsspellbooks.api.spells.CastSource;
 import net.minecraft.network.FriendlyByteBuf;
@@ -25,7 +26,7 @@ public class ClientboundUpdateCastingState {
     }
 
     public ClientboundUpdateCastingState(FriendlyByteBuf buf) {
-        this.spellId = buf.readUtf();
+        this.spellId = SpellRegistry.readSpellId(buf);
         this.spellLevel = buf.readInt();
         this.castTime = buf.readInt();
         this.castSource = buf.readEnum(CastSource.class);
@@ -33,7 +34,7 @@ public class ClientboundUpdateCastingState {
     }
 
     public void toBytes(FriendlyByteBuf buf) {
-        buf.writeUtf(this.spellId);
+        SpellRegistry.writeSpellId(buf, this.spellId);
         buf.writeInt(this.spellLevel);
         buf.writeInt(this.castTime);
         buf.writeEnum(this.castSource);
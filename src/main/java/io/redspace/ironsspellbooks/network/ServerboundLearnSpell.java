@@ -28,12 +28,12 @@ public class ServerboundLearnSpell {
 
     public ServerboundLearnSpell(FriendlyByteBuf buf) {
         hand = buf.readByte();
-        spell = buf.readUtf();
+        spell = SpellRegistry.readSpellId(buf);
     }
 
     public void toBytes(FriendlyByteBuf buf) {
         buf.writeByte(hand);
-        buf.writeUtf(spell);
+        SpellRegistry.writeSpellId(buf, spell);
     }
 
     public boolean handle(Supplier<NetworkEvent.Context> supplier) {
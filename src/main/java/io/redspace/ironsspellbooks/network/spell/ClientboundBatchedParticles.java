@@ -0,0 +1,77 @@
+package io.redspace.ironsspellbooks.network.spell;
+
+import io.redspace.ironsspellbooks.player.ClientSpellCastHelper;
+import net.minecraft.core.particles.ParticleOptions;
+import net.minecraft.core.particles.ParticleType;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraftforge.network.NetworkEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Every particle spawn queued for one player during a server tick, sent as a single packet
+ */
+public class ClientboundBatchedParticles {
+    public record Entry(ParticleOptions particle, boolean force, double x, double y, double z, int count, float deltaX, float deltaY, float deltaZ, float speed) {
+    }
+
+    private final List<Entry> entries;
+
+    public ClientboundBatchedParticles() {
+        this.entries = new ArrayList<>();
+    }
+
+    public void add(Entry entry) {
+        entries.add(entry);
+    }
+
+    public ClientboundBatchedParticles(FriendlyByteBuf buf) {
+        int size = buf.readVarInt();
+        this.entries = new ArrayList<>(size);
+        ParticleOptions previous = null;
+        for (int i = 0; i < size; i++) {
+            //Consecutive spawns of the same particle (ie from a loop) only write the options once
+            ParticleOptions particle = buf.readBoolean() && previous != null ? previous : readParticle(buf, buf.readById(BuiltInRegistries.PARTICLE_TYPE));
+            entries.add(new Entry(particle, buf.readBoolean(), buf.readDouble(), buf.readDouble(), buf.readDouble(), buf.readVarInt(), buf.readFloat(), buf.readFloat(), buf.readFloat(), buf.readFloat()));
+            previous = particle;
+        }
+    }
+
+    public void toBytes(FriendlyByteBuf buf) {
+        buf.writeVarInt(entries.size());
+        ParticleOptions previous = null;
+        for (Entry entry : entries) {
+            boolean repeat = entry.particle() == previous;
+            buf.writeBoolean(repeat);
+            if (!repeat) {
+                buf.writeId(BuiltInRegistries.PARTICLE_TYPE, entry.particle().getType());
+                entry.particle().writeToNetwork(buf);
+            }
+            buf.writeBoolean(entry.force());
+            buf.writeDouble(entry.x());
+            buf.writeDouble(entry.y());
+            buf.writeDouble(entry.z());
+            buf.writeVarInt(entry.count());
+            buf.writeFloat(entry.deltaX());
+            buf.writeFloat(entry.deltaY());
+            buf.writeFloat(entry.deltaZ());
+            buf.writeFloat(entry.speed());
+            previous = entry.particle();
+        }
+    }
+
+    private static <T extends ParticleOptions> T readParticle(FriendlyByteBuf buf, ParticleType<T> type) {
+        return type.getDeserializer().fromNetwork(type, buf);
+    }
+
+    public boolean handle(Supplier<NetworkEvent.Context> supplier) {
+        NetworkEvent.Context ctx = supplier.get();
+        ctx.enqueueWork(() -> {
+            ClientSpellCastHelper.handleClientboundBatchedParticles(entries);
+        });
+        return true;
+    }
+}
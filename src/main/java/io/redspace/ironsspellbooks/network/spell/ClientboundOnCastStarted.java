@@ -1,5 +1,6 @@
 package io.redspace.ironsspellbooks.network.spell;
 
+import io.redspace.ironsspellbooks.api.registry.SpellRegistry;
 import io.redspace.ironsspellbooks.player.ClientSpellCastHelper;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraftforge.network.NetworkEvent;
@@ -20,13 +21,13 @@ public class ClientboundOnCastStarted {
     }
 
     public ClientboundOnCastStarted(FriendlyByteBuf buf) {
-        spellId = buf.readUtf();
+        spellId = SpellRegistry.readSpellId(buf);
         spellLevel = buf.readInt();
         castingEntityId = buf.readUUID();
     }
 
     public void toBytes(FriendlyByteBuf buf) {
-        buf.writeUtf(spellId);
+        SpellRegistry.writeSpellId(buf, spellId);
         buf.writeInt(spellLevel);
         buf.writeUUID(castingEntityId);
     }
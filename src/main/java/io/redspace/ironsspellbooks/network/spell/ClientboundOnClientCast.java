@@ -25,7 +25,7 @@ public class ClientboundOnClientCast {
     }
 
     public ClientboundOnClientCast(FriendlyByteBuf buf) {
-        spellId = buf.readUtf();
+        spellId = SpellRegistry.readSpellId(buf);
         level = buf.readInt();
         castSource = buf.readEnum(CastSource.class);
         if (buf.readBoolean()) {
@@ -42,7 +42,7 @@ public class ClientboundOnClientCast {
     }
 
     public void toBytes(FriendlyByteBuf buf) {
-        buf.writeUtf(spellId);
+        SpellRegistry.writeSpellId(buf, spellId);
         buf.writeInt(level);
         buf.writeEnum(castSource);
         if (castData instanceof ICastDataSerializable castDataSerializable) {
@@ -1,5 +1,6 @@
 package io.redspace.ironsspellbooks.network.spell;
 
+import io.redspace.ironsspellbooks.api.registry.SpellRegistry;
 import io.redspace.ironsspellbooks.IronsSpellbooks;
 import io.redspace.ironsspellbooks.api.spells.AbstractSpell;
 import io.redspace.ironsspellbooks.capabilities.magic.ClientSpellTargetingData;
@@ -36,7 +37,7 @@ public class ClientboundSyncTargetingData {
     public ClientboundSyncTargetingData(FriendlyByteBuf buf) {
         //targetUuid = buf.readUUID();
         targetUUIDs = new ArrayList<>();
-        spellId = buf.readUtf();
+        spellId = SpellRegistry.readSpellId(buf);
         int i = buf.readInt();
         for (int j = 0; j < i; j++) {
             targetUUIDs.add(buf.readUUID());
@@ -45,7 +46,7 @@ public class ClientboundSyncTargetingData {
 
     public void toBytes(FriendlyByteBuf buf) {
         IronsSpellbooks.LOGGER.debug("ClientboundSyncTargetingData.toBytes: {} {}: {}", spellId, targetUUIDs.size(), targetUUIDs);
-        buf.writeUtf(spellId);
+        SpellRegistry.writeSpellId(buf, spellId);
         buf.writeInt(targetUUIDs.size());
         targetUUIDs.forEach(buf::writeUUID);
     }
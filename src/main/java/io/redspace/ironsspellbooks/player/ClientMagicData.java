@@ -4,6 +4,7 @@ import dev.kosmx.playerAnim.api.layered.KeyframeAnimationPlayer;
 import io.redspace.ironsspellbooks.IronsSpellbooks;
 import io.redspace.ironsspellbooks.api.entity.IMagicEntity;
 import io.redspace.ironsspellbooks.api.magic.MagicData;
+import io.redspace.ironsspellbooks.api.registry.AttributeRegistry;
 import io.redspace.ironsspellbooks.api.registry.SpellRegistry;
 import io.redspace.ironsspellbooks.api.spells.AbstractSpell;
 import io.redspace.ironsspellbooks.api.spells.CastSource;
@@ -14,9 +15,9 @@ import io.redspace.ironsspellbooks.capabilities.magic.PlayerRecasts;
 import io.redspace.ironsspellbooks.capabilities.magic.SyncedSpellData;
 import io.redspace.ironsspellbooks.api.magic.SpellSelectionManager;
 import io.redspace.ironsspellbooks.util.Log;
-import io.redspace.ironsspellbooks.util.MinecraftInstanceHelper;
 import net.minecraft.client.Minecraft;
 import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.player.Player;
 import org.jetbrains.annotations.NotNull;
@@ -43,12 +44,9 @@ public class ClientMagicData {
     static SpellSelectionManager spellSelectionManager;
 
     public static SpellSelectionManager getSpellSelectionManager() {
-        if (spellSelectionManager == null) {
-            var player = MinecraftInstanceHelper.getPlayer();
-            if (player != null) {
-                spellSelectionManager = new SpellSelectionManager(player);
-            }
-
+        var player = Minecraft.getInstance().player;
+        if (player != null && (spellSelectionManager == null || !spellSelectionManager.isUpToDate(player))) {
+            spellSelectionManager = new SpellSelectionManager(player);
         }
 
         return spellSelectionManager;
@@ -89,6 +87,37 @@ public class ClientMagicData {
      */
     public static HashMap<UUID, KeyframeAnimationPlayer> castingAnimationPlayerLookup = new HashMap<>();
 
+    /**
+     * Drops the cached data of an entity the client stopped tracking
+     */
+    public static void forgetEntity(Entity entity) {
+        playerSyncedDataLookup.remove(entity.getId());
+        castingAnimationPlayerLookup.remove(entity.getUUID());
+    }
+
+    /**
+     * Drops the cached data of every entity, ie when leaving a level or the server
+     *
+     * @param keepLocalPlayer whether to keep the local player's synced data, which keeps its entity id across levels and is not resent
+     */
+    public static void clearEntityCaches(boolean keepLocalPlayer) {
+        var player = Minecraft.getInstance().player;
+        var localData = keepLocalPlayer && player != null ? playerSyncedDataLookup.get(player.getId()) : null;
+        playerSyncedDataLookup.clear();
+        castingAnimationPlayerLookup.clear();
+        if (localData != null) {
+            playerSyncedDataLookup.put(player.getId(), localData);
+        }
+    }
+
+    public static int getSyncedDataCacheSize() {
+        return playerSyncedDataLookup.size();
+    }
+
+    public static int getAnimationCacheSize() {
+        return castingAnimationPlayerLookup.size();
+    }
+
     public static PlayerCooldowns getCooldowns() {
         return playerMagicData.getPlayerCooldowns();
     }
@@ -105,12 +134,32 @@ public class ClientMagicData {
         return playerMagicData.getPlayerCooldowns().getCooldownPercent(spell);
     }
 
+    /**
+     * Mana regeneration is interpolated from the last synced value instead of being sent every regen tick
+     */
+    private static float manaRegenPerTick;
+    private static long manaSyncGameTime;
+
     public static int getPlayerMana() {
-        return (int) playerMagicData.getMana();
+        var mana = playerMagicData.getMana();
+        var player = Minecraft.getInstance().player;
+        if (manaRegenPerTick > 0 && player != null) {
+            float maxMana = (float) player.getAttributeValue(AttributeRegistry.MAX_MANA.get());
+            long elapsed = Math.max(0, player.level().getGameTime() - manaSyncGameTime);
+            mana = Math.min(maxMana, mana + manaRegenPerTick * elapsed);
+        }
+        return (int) mana;
     }
 
     public static void setMana(int playerMana) {
+        setMana(playerMana, 0);
+    }
+
+    public static void setMana(int playerMana, float manaRegenPerTick) {
         ClientMagicData.playerMagicData.setMana(playerMana);
+        ClientMagicData.manaRegenPerTick = manaRegenPerTick;
+        var player = Minecraft.getInstance().player;
+        ClientMagicData.manaSyncGameTime = player == null ? 0 : player.level().getGameTime();
     }
 
     public static CastType getCastType() {
@@ -175,14 +224,18 @@ public class ClientMagicData {
 
     }
 
-    public static void handlePlayerSyncedData(SyncedSpellData playerSyncedData) {
+    public static void handlePlayerSyncedData(SyncedSpellData playerSyncedData, int fields) {
         if (Log.SPELL_SELECTION) {
             IronsSpellbooks.LOGGER.debug("ClientMagicData.handlePlayerSyncedData {}", playerSyncedData.getSpellSelection());
         }
+        var existing = playerSyncedDataLookup.get(playerSyncedData.getServerPlayerId());
+        if (existing != null && fields != SyncedSpellData.SYNC_ALL) {
+            playerSyncedData = existing.withDelta(playerSyncedData, fields);
+        }
         playerSyncedDataLookup.put(playerSyncedData.getServerPlayerId(), playerSyncedData);
     }
 
-    public static void handleAbstractCastingMobSyncedData(int entityId, SyncedSpellData syncedSpellData) {
+    public static void handleAbstractCastingMobSyncedData(int entityId, SyncedSpellData syncedSpellData, int fields) {
         var level = Minecraft.getInstance().level;
 
         if (Log.SPELL_DEBUG) {
@@ -195,7 +248,10 @@ public class ClientMagicData {
 
         var entity = level.getEntity(entityId);
         if (entity instanceof IMagicEntity abstractSpellCastingMob) {
+            if (fields != SyncedSpellData.SYNC_ALL) {
+                syncedSpellData = abstractSpellCastingMob.getMagicData().getSyncedData().withDelta(syncedSpellData, fields);
+            }
             abstractSpellCastingMob.setSyncedSpellData(syncedSpellData);
         }
     }
-}
\ No newline at end of file
+}
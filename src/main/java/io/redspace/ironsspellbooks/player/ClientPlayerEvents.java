@@ -8,6 +8,7 @@ import io.redspace.ironsspellbooks.api.spells.CastSource;
 import io.redspace.ironsspellbooks.api.spells.CastType;
 import io.redspace.ironsspellbooks.api.spells.ISpellContainer;
 import io.redspace.ironsspellbooks.api.spells.SpellData;
+import io.redspace.ironsspellbooks.api.spells.parameters.SpellParameterLoader;
 import io.redspace.ironsspellbooks.api.util.Utils;
 import io.redspace.ironsspellbooks.capabilities.magic.SyncedSpellData;
 import io.redspace.ironsspellbooks.config.ServerConfigs;
@@ -47,12 +48,15 @@ import net.minecraft.world.item.alchemy.PotionUtils;
 import net.minecraft.world.phys.Vec3;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.client.event.ClientPlayerNetworkEvent;
+import net.minecraftforge.client.event.CustomizeGuiOverlayEvent;
 import net.minecraftforge.client.event.RenderLivingEvent;
 import net.minecraftforge.client.event.ScreenEvent;
 import net.minecraftforge.client.event.ViewportEvent;
 import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.EntityLeaveLevelEvent;
 import net.minecraftforge.event.entity.player.ItemTooltipEvent;
 import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.level.LevelEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.registries.ForgeRegistries;
@@ -72,6 +76,30 @@ public class ClientPlayerEvents {
         if (event.getPlayer() != null) {
             ClientMagicData.resetClientCastState(event.getPlayer().getUUID());
         }
+        ClientMagicData.clearEntityCaches(false);
+        SpellParameterLoader.dropSynced();
+    }
+
+    @SubscribeEvent
+    public static void onEntityLeaveLevel(EntityLeaveLevelEvent event) {
+        //The old local player is removed after its replacement is set on respawn and dimension change, but the new one keeps the same id and synced data
+        if (event.getLevel().isClientSide && !(event.getEntity() instanceof LocalPlayer)) {
+            ClientMagicData.forgetEntity(event.getEntity());
+        }
+    }
+
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        if (event.getLevel().isClientSide()) {
+            ClientMagicData.clearEntityCaches(true);
+        }
+    }
+
+    @SubscribeEvent
+    public static void addDebugText(CustomizeGuiOverlayEvent.DebugText event) {
+        if (Minecraft.getInstance().options.renderDebug) {
+            event.getLeft().add(String.format("[Iron's Spellbooks] Cached spell data: %d, casting animations: %d", ClientMagicData.getSyncedDataCacheSize(), ClientMagicData.getAnimationCacheSize()));
+        }
     }
 
     @SubscribeEvent
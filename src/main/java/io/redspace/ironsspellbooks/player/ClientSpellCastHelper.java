@@ -15,6 +15,7 @@ import io.redspace.ironsspellbooks.api.spells.*;
 import io.redspace.ironsspellbooks.api.util.AnimationHolder;
 import io.redspace.ironsspellbooks.gui.EldritchResearchScreen;
 import io.redspace.ironsspellbooks.network.ClientboundCastErrorMessage;
+import io.redspace.ironsspellbooks.network.spell.ClientboundBatchedParticles;
 import io.redspace.ironsspellbooks.particle.BlastwaveParticleOptions;
 import io.redspace.ironsspellbooks.spells.ender.TeleportSpell;
 import io.redspace.ironsspellbooks.spells.holy.CloudOfRegenerationSpell;
@@ -40,6 +41,7 @@ import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.phys.Vec3;
 import org.joml.Vector3f;
 
+import java.util.List;
 import java.util.UUID;
 
 import static io.redspace.ironsspellbooks.config.ClientConfigs.SHOW_FIRST_PERSON_ARMS;
@@ -90,6 +92,36 @@ public class ClientSpellCastHelper {
         }
     }
 
+    /**
+     * Mirrors vanilla's ClientPacketListener#handleParticleEvent for each batched spawn
+     */
+    public static void handleClientboundBatchedParticles(List<ClientboundBatchedParticles.Entry> entries) {
+        if (Minecraft.getInstance().player == null) {
+            return;
+        }
+        var level = Minecraft.getInstance().player.level;
+        var random = level.getRandom();
+        for (ClientboundBatchedParticles.Entry entry : entries) {
+            try {
+                if (entry.count() == 0) {
+                    level.addParticle(entry.particle(), entry.force(), entry.x(), entry.y(), entry.z(), entry.speed() * entry.deltaX(), entry.speed() * entry.deltaY(), entry.speed() * entry.deltaZ());
+                } else {
+                    for (int i = 0; i < entry.count(); i++) {
+                        double x = random.nextGaussian() * entry.deltaX();
+                        double y = random.nextGaussian() * entry.deltaY();
+                        double z = random.nextGaussian() * entry.deltaZ();
+                        double dx = random.nextGaussian() * entry.speed();
+                        double dy = random.nextGaussian() * entry.speed();
+                        double dz = random.nextGaussian() * entry.speed();
+                        level.addParticle(entry.particle(), entry.force(), entry.x() + x, entry.y() + y, entry.z() + z, dx, dy, dz);
+                    }
+                }
+            } catch (Throwable throwable) {
+                IronsSpellbooks.LOGGER.warn("Could not spawn particle effect {}", entry.particle());
+            }
+        }
+    }
+
     public static void handleClientboundShockwaveParticle(Vec3 pos, float radius, ParticleType<?> particleType) {
         if (Minecraft.getInstance().player == null || !(particleType instanceof ParticleOptions)) {
             return;
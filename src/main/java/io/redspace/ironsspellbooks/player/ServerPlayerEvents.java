@@ -31,9 +31,9 @@ import io.redspace.ironsspellbooks.entity.mobs.SupportMob;
 import io.redspace.ironsspellbooks.entity.spells.root.PreventDismount;
 import io.redspace.ironsspellbooks.item.CastingItem;
 import io.redspace.ironsspellbooks.item.Scroll;
+import io.redspace.ironsspellbooks.item.curios.EquippedCurios;
 import io.redspace.ironsspellbooks.item.curios.LurkerRing;
 import io.redspace.ironsspellbooks.network.ClientboundEquipmentChanged;
-import io.redspace.ironsspellbooks.network.ClientboundSyncMana;
 import io.redspace.ironsspellbooks.network.ServerboundCancelCast;
 import io.redspace.ironsspellbooks.registries.BlockRegistry;
 import io.redspace.ironsspellbooks.registries.ItemRegistry;
@@ -81,7 +81,6 @@ import net.minecraftforge.event.server.ServerStartedEvent;
 import net.minecraftforge.event.server.ServerStoppedEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
-import top.theillusivec4.curios.api.CuriosApi;
 import top.theillusivec4.curios.api.event.CurioAttributeModifierEvent;
 import top.theillusivec4.curios.api.event.CurioChangeEvent;
 
@@ -148,6 +147,7 @@ public class ServerPlayerEvents {
     public static void onLivingEquipmentChangeEvent(LivingEquipmentChangeEvent event) {
         if (event.getEntity() instanceof ServerPlayer serverPlayer) {
             var playerMagicData = MagicData.getPlayerMagicData(serverPlayer);
+            playerMagicData.invalidateSpellSelectionManager();
 
             if (playerMagicData.isCasting() && (event.getFrom().getItem() instanceof CastingItem || event.getTo().getItem() instanceof CastingItem)) {
                 Utils.serverSideCancelCast(serverPlayer);
@@ -172,7 +172,9 @@ public class ServerPlayerEvents {
     @SubscribeEvent
     public static void onCurioChangeEvent(CurioChangeEvent event) {
         var entity = event.getEntity();
+        EquippedCurios.invalidate(entity);
         if (entity instanceof ServerPlayer serverPlayer && (ISpellContainer.isSpellContainer(event.getFrom()) || ISpellContainer.isSpellContainer(event.getTo()))) {
+            MagicData.getPlayerMagicData(serverPlayer).invalidateSpellSelectionManager();
             Messages.sendToPlayer(new ClientboundEquipmentChanged(), serverPlayer);
         }
     }
@@ -220,7 +222,7 @@ public class ServerPlayerEvents {
     public static void onExperienceDroppedEvent(LivingExperienceDropEvent event) {
         var player = event.getAttackingPlayer();
         if (player != null) {
-            var ringCount = CuriosApi.getCuriosHelper().findCurios(player, ItemRegistry.EMERALD_STONEPLATE_RING.get()).size();
+            var ringCount = EquippedCurios.of(player).count(ItemRegistry.EMERALD_STONEPLATE_RING.get());
             for (int i = 0; i < ringCount; i++) {
                 event.setDroppedExperience((int) (event.getDroppedExperience() * 1.25));
             }
@@ -241,7 +243,7 @@ public class ServerPlayerEvents {
             playerMagicData.getPlayerCooldowns().syncToPlayer(serverPlayer);
             playerMagicData.getPlayerRecasts().syncAllToPlayer();
             playerMagicData.getSyncedData().syncToPlayer(serverPlayer);
-            Messages.sendToPlayer(new ClientboundSyncMana(playerMagicData), serverPlayer);
+            playerMagicData.markManaDirty();
             CameraShakeManager.doSync(serverPlayer);
         }
     }
@@ -271,7 +273,7 @@ public class ServerPlayerEvents {
             //TODO: Vanilla does not persist mobeffects, even with keepinventory. Should we?
             newMagicData.setSyncedData(/*keepEverything ? oldMagicData.getSyncedData() : */oldMagicData.getSyncedData().getPersistentData());
             newMagicData.getSyncedData().doSync();
-            oldMagicData.getPlayerCooldowns().getSpellCooldowns().forEach((spellId, cooldown) -> newMagicData.getPlayerCooldowns().getSpellCooldowns().put(spellId, cooldown));
+            newMagicData.getPlayerCooldowns().copyFrom(oldMagicData.getPlayerCooldowns());
             event.getOriginal().invalidateCaps();
         }
     }
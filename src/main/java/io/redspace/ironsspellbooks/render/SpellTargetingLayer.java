@@ -21,6 +21,7 @@ import net.minecraft.client.renderer.texture.OverlayTexture;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.phys.AABB;
+import org.jetbrains.annotations.Nullable;
 import org.joml.Matrix3f;
 import org.joml.Matrix4f;
 import com.mojang.math.Axis;
@@ -87,20 +88,11 @@ public class SpellTargetingLayer {
         float height = (float) aabb.getYsize();
         float halfWidth = width * .55f;
         float magicYOffset = (float) (1.5 - height);
-        Vector3f color = null;
-        if (ClientMagicData.getRecasts().hasRecastsActive()) {
-            for (RecastInstance recastInstance : ClientMagicData.getRecasts().getActiveRecasts()) {
-                if (recastInstance.getCastData() instanceof MultiTargetEntityCastData targetEntityCastData) {
-                    if (targetEntityCastData.isTargeted(entity)) {
-                        color = getColor(recastInstance.getSpellId());
-                        break;
-                    }
-                }
-            }
-        }
-        if (color == null) {
-            color = getColor(ClientMagicData.getTargetingData().spellId);
-        }
+        //shouldRender has just looked this entity up, reuse its result instead of scanning the recasts again
+        var targetingRecast = checkedEntity == entity ? checkedRecast : getTargetingRecast(entity);
+        checkedEntity = null;
+        checkedRecast = null;
+        Vector3f color = getColor(targetingRecast != null ? targetingRecast.getSpellId() : ClientMagicData.getTargetingData().spellId);
         color.mul(.4f);
         poseStack.pushPose();
         poseStack.translate(0, magicYOffset, 0);
@@ -122,16 +114,31 @@ public class SpellTargetingLayer {
         poseStack.popPose();
     }
 
+    //The last entity shouldRender returned true for, and its targeting recast, until renderTargetLayer consumes them
+    private static LivingEntity checkedEntity;
+    private static RecastInstance checkedRecast;
+
     public static boolean shouldRender(LivingEntity entity) {
-        if (ClientMagicData.getRecasts().hasRecastsActive()) {
-            for (RecastInstance recastInstance : ClientMagicData.getRecasts().getActiveRecasts()) {
-                if (recastInstance.getCastData() instanceof MultiTargetEntityCastData targetEntityCastData) {
-                    if (targetEntityCastData.isTargeted(entity)) {
-                        return true;
-                    }
+        var targetingRecast = getTargetingRecast(entity);
+        if (targetingRecast != null || ClientMagicData.getTargetingData().isTargeted(entity)) {
+            checkedEntity = entity;
+            checkedRecast = targetingRecast;
+            return true;
+        }
+        return false;
+    }
+
+    @Nullable
+    private static RecastInstance getTargetingRecast(LivingEntity entity) {
+        var recasts = ClientMagicData.getRecasts();
+        if (recasts.hasRecastsActive()) {
+            //getActiveRecasts returns the same cached list until the player's recasts change
+            for (RecastInstance recastInstance : recasts.getActiveRecasts()) {
+                if (recastInstance.getCastData() instanceof MultiTargetEntityCastData targetEntityCastData && targetEntityCastData.isTargeted(entity)) {
+                    return recastInstance;
                 }
             }
         }
-        return ClientMagicData.getTargetingData().isTargeted(entity);
+        return null;
     }
 }
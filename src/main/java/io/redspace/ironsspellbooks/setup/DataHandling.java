@@ -1,8 +1,11 @@
 package io.redspace.ironsspellbooks.setup;
 
 import io.redspace.ironsspellbooks.IronsSpellbooks;
+import io.redspace.ironsspellbooks.api.spells.parameters.SpellParameterLoader;
+import io.redspace.ironsspellbooks.network.ClientboundSyncSpellParameters;
 import net.minecraft.world.level.storage.LevelStorageSource;
 import net.minecraftforge.event.AddReloadListenerEvent;
+import net.minecraftforge.event.OnDatapackSyncEvent;
 import net.minecraftforge.event.level.ChunkDataEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
@@ -15,6 +18,18 @@ public class DataHandling {
     public static void addReloadListenerEvent(AddReloadListenerEvent event) {
         var reloadableServerResources = event.getServerResources();
         //LevelStorageSource.LevelStorageAccess();
+        event.addListener(SpellParameterLoader.reloadListener());
+    }
+
+    @SubscribeEvent
+    public static void onDatapackSync(OnDatapackSyncEvent event) {
+        //Fired for the joining player on login, and with no player after /reload
+        var message = new ClientboundSyncSpellParameters(SpellParameterLoader.SyncedConfigs.capture());
+        if (event.getPlayer() != null) {
+            Messages.sendToPlayer(message, event.getPlayer());
+        } else {
+            Messages.sendToAllPlayers(message);
+        }
     }
 
     @SubscribeEvent
@@ -95,18 +95,6 @@ public class Messages {
                 .consumerMainThread(ClientboundSyncRecasts::handle)
                 .add();
 
-        net.messageBuilder(ClientBoundSyncRecast.class, id(), NetworkDirection.PLAY_TO_CLIENT)
-                .decoder(ClientBoundSyncRecast::new)
-                .encoder(ClientBoundSyncRecast::toBytes)
-                .consumerMainThread(ClientBoundSyncRecast::handle)
-                .add();
-
-        net.messageBuilder(ClientBoundRemoveRecast.class, id(), NetworkDirection.PLAY_TO_CLIENT)
-                .decoder(ClientBoundRemoveRecast::new)
-                .encoder(ClientBoundRemoveRecast::toBytes)
-                .consumerMainThread(ClientBoundRemoveRecast::handle)
-                .add();
-
         net.messageBuilder(ClientboundTeleportParticles.class, id(), NetworkDirection.PLAY_TO_CLIENT)
                 .decoder(ClientboundTeleportParticles::new)
                 .encoder(ClientboundTeleportParticles::toBytes)
@@ -274,6 +262,18 @@ public class Messages {
                 .encoder(ClientboundParticleShockwave::toBytes)
                 .consumerMainThread(ClientboundParticleShockwave::handle)
                 .add();
+
+        net.messageBuilder(ClientboundBatchedParticles.class, id(), NetworkDirection.PLAY_TO_CLIENT)
+                .decoder(ClientboundBatchedParticles::new)
+                .encoder(ClientboundBatchedParticles::toBytes)
+                .consumerMainThread(ClientboundBatchedParticles::handle)
+                .add();
+
+        net.messageBuilder(ClientboundSyncSpellParameters.class, id(), NetworkDirection.PLAY_TO_CLIENT)
+                .decoder(ClientboundSyncSpellParameters::new)
+                .encoder(ClientboundSyncSpellParameters::toBytes)
+                .consumerMainThread(ClientboundSyncSpellParameters::handle)
+                .add();
     }
 
     public static <MSG> void sendToServer(MSG message) {
@@ -1,5 +1,6 @@
 package io.redspace.ironsspellbooks.setup;
 
+import io.redspace.ironsspellbooks.api.registry.SpellRegistry;
 import io.redspace.ironsspellbooks.block.alchemist_cauldron.AlchemistCauldronBlock;
 import io.redspace.ironsspellbooks.block.alchemist_cauldron.AlchemistCauldronInteraction;
 import io.redspace.ironsspellbooks.block.alchemist_cauldron.AlchemistCauldronTile;
@@ -45,6 +46,10 @@ public class ModSetup {
         //bus.addListener(ManaEvents::onPlayerCloned);
         bus.addListener(MagicEvents::onRegisterCapabilities);
         bus.addListener(MagicEvents::onWorldTick);
+        bus.addListener(MagicEvents::onServerTick);
+        bus.addListener(MagicEvents::onLevelUnload);
+        bus.addListener(MagicEvents::onServerStopped);
+        bus.addListener(SpellRegistry::onIdMapping);
 
         //SPELLBOOKS
         //bus.addGenericListener(ItemStack.class, SpellBookDataEvents::onAttachCapabilities);
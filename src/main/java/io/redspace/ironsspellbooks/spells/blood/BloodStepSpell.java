@@ -28,7 +28,7 @@ import net.minecraft.world.phys.HitResult;
 import net.minecraft.world.phys.Vec3;
 import org.jetbrains.annotations.Nullable;
 import io.redspace.ironsspellbooks.api.spells.parameters.IParameterizedSpell;
-import io.redspace.ironsspellbooks.api.spells.parameters.ParameterType;
+import io.redspace.ironsspellbooks.api.spells.parameters.SpellCastContext;
 import io.redspace.ironsspellbooks.api.spells.parameters.SpellParameterConfig;
 import io.redspace.ironsspellbooks.api.spells.parameters.SpellParameterLoader;
 import io.redspace.ironsspellbooks.api.spells.parameters.SpellParameterSchema;
@@ -171,30 +171,11 @@ public class BloodStepSpell extends AbstractSpell implements IParameterizedSpell
 
     @Override
     public SpellParameterSchema getParameterSchema() {
-        SpellParameterConfig defaults = new SpellParameterConfig(this.baseManaCost, this.manaCostPerLevel, this.baseSpellPower, this.spellPowerPerLevel, this.castTime, this.defaultConfig.cooldownInSeconds);
-        SpellParameterConfig parameters = SpellParameterLoader.resolve(getSpellId(), SpellParameters.empty(), defaults);
-        return SpellParameterSchema.builder()
-                .optional("baseManaCost", ParameterType.INT, parameters.baseManaCost(), "基础魔力消耗")
-                .alias("manaCost", "baseManaCost")
-                .optional("manaCostPerLevel", ParameterType.INT, parameters.manaCostPerLevel(), "每级魔力增量")
-                .optional("baseSpellPower", ParameterType.INT, parameters.baseSpellPower(), "基础技能威力")
-                .alias("power", "baseSpellPower")
-                .optional("spellPowerPerLevel", ParameterType.INT, parameters.spellPowerPerLevel(), "每级威力增量")
-                .alias("levelScaling", "spellPowerPerLevel")
-                .optional("castTime", ParameterType.INT, parameters.castTime(), "施法时间 (tick)")
-                .optional("cooldown", ParameterType.DOUBLE, parameters.cooldownSeconds(), "默认冷却 (秒)")
-                .build();
+        return SpellParameterSchema.standard(this);
     }
 
     @Override
     public void onCastWithParameters(Level level, int spellLevel, LivingEntity entity, CastSource castSource, MagicData playerMagicData, SpellParameters parameters) {
-        SpellParameterConfig fallback = new SpellParameterConfig(this.baseManaCost, this.manaCostPerLevel, this.baseSpellPower, this.spellPowerPerLevel, this.castTime, this.defaultConfig.cooldownInSeconds);
-        SpellParameterConfig config = SpellParameterLoader.resolve(getSpellId(), parameters, fallback);
-        SpellParameterConfig previous = this.applyParameterOverrides(config);
-        try {
-            this.onCast(level, spellLevel, entity, castSource, playerMagicData);
-        } finally {
-            this.restoreParameters(previous);
-        }
+        SpellCastContext.runWith(this, parameters, () -> this.onCast(level, spellLevel, entity, castSource, playerMagicData));
     }
 }
@@ -0,0 +1,102 @@
+package io.redspace.ironsspellbooks.util;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.SectionPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.AABB;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Shared per tick snapshot of the entities in a level, for spell entities that repeatedly search an area (pools, tentacles, portals, etc).
+ * <br>
+ * Each chunk section is looked up from the level at most once per tick, the first time any query touches it.
+ * Every later query that tick reads the cached section, so overlapping areas share one broadphase instead of scanning the level each.
+ * Entities spawned or moved into a section after it was cached are not seen until the next tick.
+ * <br>
+ * Snapshots are keyed by dimension, one map per side, and dropped when their level unloads.
+ */
+public class EntityBroadphase {
+    private static final Map<ResourceKey<Level>, EntityBroadphase> SERVER_SNAPSHOTS = new HashMap<>();
+    private static final Map<ResourceKey<Level>, EntityBroadphase> CLIENT_SNAPSHOTS = new HashMap<>();
+
+    private final Long2ObjectOpenHashMap<List<Entity>> sections = new Long2ObjectOpenHashMap<>();
+    private long gameTime = Long.MIN_VALUE;
+
+    /**
+     * Equivalent of {@link Level#getEntities(Entity, AABB, Predicate)}
+     */
+    public static List<Entity> getEntities(Level level, @Nullable Entity except, AABB area, Predicate<? super Entity> filter) {
+        return of(level).query(level, Entity.class, except, area, filter);
+    }
+
+    /**
+     * Equivalent of {@link Level#getEntitiesOfClass(Class, AABB)}
+     */
+    public static <T extends Entity> List<T> getEntitiesOfClass(Level level, Class<T> entityClass, AABB area) {
+        return of(level).query(level, entityClass, null, area, entity -> true);
+    }
+
+    public static <T extends Entity> List<T> getEntitiesOfClass(Level level, Class<T> entityClass, AABB area, Predicate<? super T> filter) {
+        return of(level).query(level, entityClass, null, area, filter);
+    }
+
+    public static void forgetLevel(Level level) {
+        (level.isClientSide ? CLIENT_SNAPSHOTS : SERVER_SNAPSHOTS).remove(level.dimension());
+    }
+
+    public static void clearServer() {
+        SERVER_SNAPSHOTS.clear();
+    }
+
+    private static EntityBroadphase of(Level level) {
+        var snapshot = (level.isClientSide ? CLIENT_SNAPSHOTS : SERVER_SNAPSHOTS).computeIfAbsent(level.dimension(), dimension -> new EntityBroadphase());
+        if (snapshot.gameTime != level.getGameTime()) {
+            snapshot.sections.clear();
+            snapshot.gameTime = level.getGameTime();
+        }
+        return snapshot;
+    }
+
+    private <T extends Entity> List<T> query(Level level, Class<T> entityClass, @Nullable Entity except, AABB area, Predicate<? super T> filter) {
+        int minX = SectionPos.blockToSectionCoord(area.minX), maxX = SectionPos.blockToSectionCoord(area.maxX);
+        int minY = SectionPos.blockToSectionCoord(area.minY), maxY = SectionPos.blockToSectionCoord(area.maxY);
+        int minZ = SectionPos.blockToSectionCoord(area.minZ), maxZ = SectionPos.blockToSectionCoord(area.maxZ);
+        //Entities overlapping a section border are cached in both sections
+        Set<Entity> seen = minX == maxX && minY == maxY && minZ == maxZ ? null : Collections.newSetFromMap(new IdentityHashMap<>());
+        List<T> result = new ArrayList<>();
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    for (Entity entity : getSection(level, x, y, z)) {
+                        if (entity != except && !entity.isRemoved() && entityClass.isInstance(entity) && entity.getBoundingBox().intersects(area) && (seen == null || seen.add(entity))) {
+                            T t = entityClass.cast(entity);
+                            if (filter.test(t)) {
+                                result.add(t);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private List<Entity> getSection(Level level, int x, int y, int z) {
+        return sections.computeIfAbsent(SectionPos.asLong(x, y, z), key -> {
+            int minX = SectionPos.sectionToBlockCoord(x), minY = SectionPos.sectionToBlockCoord(y), minZ = SectionPos.sectionToBlockCoord(z);
+            var bounds = new AABB(minX, minY, minZ, minX + 16, minY + 16, minZ + 16);
+            return level.getEntities((Entity) null, bounds, entity -> true);
+        });
+    }
+}
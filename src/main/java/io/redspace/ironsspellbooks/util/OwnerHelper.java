@@ -1,5 +1,7 @@
 package io.redspace.ironsspellbooks.util;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.entity.LivingEntity;
@@ -8,13 +10,24 @@ import net.minecraft.world.level.Level;
 import java.util.UUID;
 
 public class OwnerHelper {
+    //Shared between every summon of an owner, so a horde of summons resolves its owner once instead of each searching the level
+    private static final Cache<UUID, LivingEntity> OWNERS = CacheBuilder.newBuilder().weakValues().build();
 
+    /**
+     * Callers are expected to store the result as their new cached owner
+     */
     public static LivingEntity getAndCacheOwner(Level level, LivingEntity cachedOwner, UUID summonerUUID) {
         if (cachedOwner != null && cachedOwner.isAlive()) {
             return cachedOwner;
         } else if (summonerUUID != null && level instanceof ServerLevel serverLevel) {
-            if (serverLevel.getEntity(summonerUUID) instanceof LivingEntity livingEntity)
-                cachedOwner = livingEntity;
+            var owner = OWNERS.getIfPresent(summonerUUID);
+            if (owner != null && !owner.isRemoved() && owner.level() == serverLevel) {
+                return owner;
+            }
+            if (serverLevel.getEntity(summonerUUID) instanceof LivingEntity livingEntity) {
+                OWNERS.put(summonerUUID, livingEntity);
+                return livingEntity;
+            }
             return cachedOwner;
         } else {
             return null;
@@ -1,11 +1,13 @@
 package io.redspace.ironsspellbooks.util;
 
+import io.redspace.ironsspellbooks.api.magic.SpellSelectionManager;
 import io.redspace.ironsspellbooks.api.spells.*;
 import io.redspace.ironsspellbooks.api.util.Utils;
 import io.redspace.ironsspellbooks.capabilities.magic.MagicManager;
 import io.redspace.ironsspellbooks.config.ServerConfigs;
 import io.redspace.ironsspellbooks.item.Scroll;
 import io.redspace.ironsspellbooks.player.ClientInputEvents;
+import io.redspace.ironsspellbooks.player.ClientMagicData;
 import io.redspace.ironsspellbooks.spells.eldritch.AbstractEldritchSpell;
 import net.minecraft.ChatFormatting;
 import net.minecraft.client.gui.Font;
@@ -24,8 +26,11 @@ import org.jetbrains.annotations.NotNull;
 
 import javax.annotation.Nonnull;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 public class TooltipsUtils {
 
@@ -63,7 +68,39 @@ public class TooltipsUtils {
         return -1;
     }
 
+    /**
+     * Spell tooltips are rebuilt every frame while hovered, so they are cached per spell, level and cast source.
+     * The whole cache is dropped when the player or their equipment changes, and after {@link #TOOLTIP_CACHE_TICKS} ticks so
+     * attribute, effect and config changes still show up.
+     */
+    private static final int TOOLTIP_CACHE_TICKS = 20;
+    private static final Map<TooltipKey, List<? extends Component>> TOOLTIP_CACHE = new HashMap<>();
+    private static LocalPlayer cachePlayer;
+    private static SpellSelectionManager cacheSelectionManager;
+    private static int cacheTick;
+
+    private record TooltipKey(boolean scroll, String spellId, int level, CastSource castSource) {
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Component> List<T> getCachedTooltip(TooltipKey key, LocalPlayer player, Supplier<List<T>> builder) {
+        var selectionManager = ClientMagicData.getSpellSelectionManager();
+        if (cachePlayer != player || cacheSelectionManager != selectionManager || player.tickCount - cacheTick >= TOOLTIP_CACHE_TICKS || player.tickCount < cacheTick) {
+            TOOLTIP_CACHE.clear();
+            cachePlayer = player;
+            cacheSelectionManager = selectionManager;
+            cacheTick = player.tickCount;
+        }
+        var lines = (List<T>) TOOLTIP_CACHE.computeIfAbsent(key, k -> builder.get());
+        //Callers add to and rearrange the lines, so each gets its own list
+        return new ArrayList<>(lines);
+    }
+
     public static List<MutableComponent> formatActiveSpellTooltip(ItemStack stack, SpellData spellData, CastSource castSource, @Nonnull LocalPlayer player) {
+        return getCachedTooltip(new TooltipKey(false, spellData.getSpell().getSpellId(), spellData.getLevel(), castSource), player, () -> buildActiveSpellTooltip(spellData, castSource, player));
+    }
+
+    private static List<MutableComponent> buildActiveSpellTooltip(SpellData spellData, CastSource castSource, @Nonnull LocalPlayer player) {
         var spell = spellData.getSpell();
         var spellLevel = spell.getLevelFor(spellData.getLevel(), player);
         var title = getTitleComponent(spellData, player);
@@ -94,39 +131,43 @@ public class TooltipsUtils {
             }
 
             var spellData = spellList.getSpellAtIndex(0);
-            var spell = spellData.getSpell();
-            var spellLevel = spell.getLevelFor(spellData.getLevel(), player);
-
-            var levelText = getLevelComponenet(spellData, player);
-            var title = Component.translatable("tooltip.irons_spellbooks.level", levelText)
-                    .append(" ")
-                    .append(Component.translatable("tooltip.irons_spellbooks.rarity", spell.getRarity(spellData.getLevel()).getDisplayName()).withStyle(spell.getRarity(spellData.getLevel()).getDisplayName().getStyle()))
-                    .withStyle(ChatFormatting.GRAY);
-            var uniqueInfo = spell.getUniqueInfo(spellLevel, player);
-            var whenInSpellBook = Component.translatable("tooltip.irons_spellbooks.scroll_tooltip").withStyle(ChatFormatting.GRAY);
-            var manaCost = getManaCostComponent(spell.getCastType(), spell.getManaCost(spellLevel)).withStyle(ChatFormatting.BLUE);
-            var cooldownTime = Component.translatable("tooltip.irons_spellbooks.cooldown_length_seconds", Utils.timeFromTicks(MagicManager.getEffectiveSpellCooldown(spell, player, CastSource.SCROLL), 2)).withStyle(ChatFormatting.BLUE);
-            MutableComponent castType = null;
-            if (spell.getCastType() != CastType.INSTANT) {
-                castType = (Component.literal(" ").append(getCastTimeComponent(spell.getCastType(), Utils.timeFromTicks(spell.getEffectiveCastTime(spellLevel, player), 2)).withStyle(ChatFormatting.BLUE)));
-            }
-            List<Component> lines = new ArrayList<>();
-            lines.add(Component.literal(" ").append(title));
-            uniqueInfo.forEach((line) -> lines.add(Component.literal(" ").append(line.withStyle(getStyleFor(player, spell)))));
-            if (castType != null) {
-                lines.add(castType);
-            }
-            lines.add(Component.empty());
-            lines.add(whenInSpellBook);
-            lines.add(manaCost);
-            lines.add(cooldownTime);
-            lines.add(spell.getSchoolType().getDisplayName().copy());
-
-            return lines;
+            return getCachedTooltip(new TooltipKey(true, spellData.getSpell().getSpellId(), spellData.getLevel(), CastSource.SCROLL), player, () -> buildScrollTooltip(spellData, player));
         }
         return List.of();
     }
 
+    private static List<Component> buildScrollTooltip(SpellData spellData, @Nonnull LocalPlayer player) {
+        var spell = spellData.getSpell();
+        var spellLevel = spell.getLevelFor(spellData.getLevel(), player);
+
+        var levelText = getLevelComponenet(spellData, player);
+        var title = Component.translatable("tooltip.irons_spellbooks.level", levelText)
+                .append(" ")
+                .append(Component.translatable("tooltip.irons_spellbooks.rarity", spell.getRarity(spellData.getLevel()).getDisplayName()).withStyle(spell.getRarity(spellData.getLevel()).getDisplayName().getStyle()))
+                .withStyle(ChatFormatting.GRAY);
+        var uniqueInfo = spell.getUniqueInfo(spellLevel, player);
+        var whenInSpellBook = Component.translatable("tooltip.irons_spellbooks.scroll_tooltip").withStyle(ChatFormatting.GRAY);
+        var manaCost = getManaCostComponent(spell.getCastType(), spell.getManaCost(spellLevel)).withStyle(ChatFormatting.BLUE);
+        var cooldownTime = Component.translatable("tooltip.irons_spellbooks.cooldown_length_seconds", Utils.timeFromTicks(MagicManager.getEffectiveSpellCooldown(spell, player, CastSource.SCROLL), 2)).withStyle(ChatFormatting.BLUE);
+        MutableComponent castType = null;
+        if (spell.getCastType() != CastType.INSTANT) {
+            castType = (Component.literal(" ").append(getCastTimeComponent(spell.getCastType(), Utils.timeFromTicks(spell.getEffectiveCastTime(spellLevel, player), 2)).withStyle(ChatFormatting.BLUE)));
+        }
+        List<Component> lines = new ArrayList<>();
+        lines.add(Component.literal(" ").append(title));
+        uniqueInfo.forEach((line) -> lines.add(Component.literal(" ").append(line.withStyle(getStyleFor(player, spell)))));
+        if (castType != null) {
+            lines.add(castType);
+        }
+        lines.add(Component.empty());
+        lines.add(whenInSpellBook);
+        lines.add(manaCost);
+        lines.add(cooldownTime);
+        lines.add(spell.getSchoolType().getDisplayName().copy());
+
+        return lines;
+    }
+
     public static void addShiftTooltip(List<Component> currentTooltip, List<Component> tooltipToAdd) {
         addShiftTooltip(currentTooltip, Component.translatable("tooltip.irons_spellbooks.shift_tooltip").withStyle(ChatFormatting.GRAY), tooltipToAdd);
     }